@@ -0,0 +1,27 @@
+package org.example.reactive;
+
+import org.example.authorization.RoleRegistry;
+import org.example.config.KeycloakJwtAuthenticationConverter;
+import org.example.config.properties.ErrorProperties;
+import org.example.config.properties.JwtCacheProperties;
+import org.example.config.properties.RoleProperties;
+import org.example.config.properties.UserSyncProperties;
+import org.example.exception.ErrorLogLimiter;
+import org.example.service.UserSyncRegistry;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+
+/**
+ * WebFlux variant of {@link org.example.KeycloakAuthApplication}. Servlet-free components of main module imported
+ * explicitly instead of scanning, so its servlet filters and controllers stay out of context.
+ */
+@SpringBootApplication
+@EnableConfigurationProperties({RoleProperties.class, JwtCacheProperties.class, UserSyncProperties.class, ErrorProperties.class})
+@Import({RoleRegistry.class, KeycloakJwtAuthenticationConverter.class, UserSyncRegistry.class, ErrorLogLimiter.class})
+public class ReactiveKeycloakAuthApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveKeycloakAuthApplication.class, args);
+    }
+}
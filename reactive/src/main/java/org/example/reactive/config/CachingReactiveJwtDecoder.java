@@ -0,0 +1,46 @@
+package org.example.reactive.config;
+
+import org.example.util.TokenCache;
+import org.example.util.TokenKey;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+
+/**
+ * Reactive counterpart of {@link org.example.config.CachingJwtDecoder}: verified tokens served from cache
+ * until their {@code exp} claim without subscribing to delegate.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+    private final ReactiveJwtDecoder delegate;
+    private final TokenCache<TokenKey, Jwt> cache;
+    private final Clock clock;
+
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, int maxSize) {
+        this(delegate, maxSize, Clock.systemUTC());
+    }
+
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, int maxSize, Clock clock) {
+        this.delegate = delegate;
+        this.cache = new TokenCache<>(maxSize);
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        final TokenKey key = TokenKey.of(token);
+        final Jwt cached = cache.get(key, clock.millis());
+        if (cached != null)
+            return Mono.just(cached);
+        return delegate.decode(token).doOnNext(jwt -> {
+            if (jwt.getExpiresAt() != null)
+                cache.put(key, jwt, jwt.getExpiresAt().toEpochMilli(), clock.millis());
+        });
+    }
+
+    public TokenCache<TokenKey, Jwt> getCache() {
+        return cache;
+    }
+}
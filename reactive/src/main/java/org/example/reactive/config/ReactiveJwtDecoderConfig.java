@@ -0,0 +1,35 @@
+package org.example.reactive.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.properties.JwtCacheProperties;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+/**
+ * Non-blocking decoder: JWK set fetched with {@code WebClient} on first token and on unknown {@code kid},
+ * so no event loop thread waits on Keycloak. Certs endpoint derived from issuer, Keycloak layout,
+ * to skip blocking discovery request at startup.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ReactiveJwtDecoderConfig {
+    private static final String CERTS_PATH = "/protocol/openid-connect/certs";
+
+    private final OAuth2ResourceServerProperties resourceServerProperties;
+    private final JwtCacheProperties cacheProperties;
+
+    @Bean
+    public ReactiveJwtDecoder reactiveJwtDecoder() {
+        final String issuerUri = resourceServerProperties.getJwt().getIssuerUri();
+        final String jwkSetUri = resourceServerProperties.getJwt().getJwkSetUri() != null
+                ? resourceServerProperties.getJwt().getJwkSetUri()
+                : issuerUri + CERTS_PATH;
+        final NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withJwkSetUri(jwkSetUri).build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+        return cacheProperties.isEnabled() ? new CachingReactiveJwtDecoder(decoder, cacheProperties.getMaxSize()) : decoder;
+    }
+}
@@ -0,0 +1,55 @@
+package org.example.reactive.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.KeycloakJwtAuthenticationConverter;
+import org.example.exception.ErrorResponseWriter;
+import org.example.reactive.exception.ReactiveErrorResponseWriter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link SecurityWebFilterChain} equivalent of servlet {@link org.example.config.SecurityConfig}.
+ */
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+    private final KeycloakJwtAuthenticationConverter keycloakJwtAuthenticationConverter;
+    private final ReactiveErrorResponseWriter errorResponseWriter;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .cors(Customizer.withDefaults())
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        .pathMatchers("/api/anonymous/**", "/error/**").permitAll()
+                        .anyExchange().authenticated())
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .authenticationEntryPoint(this::unauthorized)
+                        .jwt(jwt -> jwt.jwtAuthenticationConverter(
+                                new ReactiveJwtAuthenticationConverterAdapter(keycloakJwtAuthenticationConverter))))
+                .build();
+    }
+
+    private Mono<Void> unauthorized(ServerWebExchange exchange, AuthenticationException e) {
+        return errorResponseWriter.write(exchange.getResponse(), HttpStatus.UNAUTHORIZED,
+                ErrorResponseWriter.getUnauthorizedError(e.getLocalizedMessage()));
+    }
+}
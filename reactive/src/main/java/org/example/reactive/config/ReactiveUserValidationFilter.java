@@ -0,0 +1,68 @@
+package org.example.reactive.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.KeycloakPrincipal;
+import org.example.config.properties.UserSyncProperties;
+import org.example.exception.ErrorResponseWriter;
+import org.example.reactive.exception.ReactiveErrorResponseWriter;
+import org.example.service.UserSyncRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * Reactive counterpart of {@link org.example.config.UserValidationFilter}, runs after security chain
+ * (unordered web filter), so authentication already present in reactor context.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveUserValidationFilter implements WebFilter {
+    private final UserSyncProperties userSyncProperties;
+    private final UserSyncRegistry userSyncRegistry;
+    private final ReactiveErrorResponseWriter errorResponseWriter;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!userSyncProperties.isEnabled())
+            return chain.filter(exchange);
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .flatMap(authentication -> isRejected(authentication)
+                        ? errorResponseWriter.write(exchange.getResponse(), HttpStatus.FORBIDDEN,
+                                ErrorResponseWriter.getNotSynchronizedError(getUsername(authentication))).thenReturn(false)
+                        : Mono.just(true))
+                .defaultIfEmpty(true)
+                .flatMap(pass -> pass ? chain.filter(exchange) : Mono.empty());
+    }
+
+    private boolean isRejected(Authentication authentication) {
+        if (authentication instanceof AnonymousAuthenticationToken || authentication.getPrincipal() == null)
+            return false;
+        if (authentication.getPrincipal() instanceof KeycloakPrincipal principal)
+            return principal.getSubjectId() == null || !userSyncRegistry.isSynchronized(principal.getSubjectId());
+        final String subject = authentication.getPrincipal() instanceof Jwt jwt ? jwt.getSubject() : authentication.getName();
+        if (subject == null)
+            return true;
+        try {
+            return !userSyncRegistry.isSynchronized(UUID.fromString(subject));
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private static Object getUsername(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof KeycloakPrincipal principal)
+            return principal.getUsername();
+        return authentication.getPrincipal() instanceof Jwt jwt ? jwt.getClaims().get(KeycloakPrincipal.USERNAME) : authentication.getName();
+    }
+}
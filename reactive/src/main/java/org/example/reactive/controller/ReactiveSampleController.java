@@ -0,0 +1,51 @@
+package org.example.reactive.controller;
+
+import org.example.config.KeycloakPrincipal;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same endpoints as servlet {@link org.example.controller.SampleController}. Method security applies
+ * only to methods returning {@link org.reactivestreams.Publisher}, so all handlers return {@link Mono}.
+ */
+@RestController
+@RequestMapping("/api")
+public class ReactiveSampleController {
+    @GetMapping("/anonymous")
+    public Mono<String> getAnonymousInfo() {
+        return Mono.just("Anonymous");
+    }
+
+    @GetMapping("/user")
+    @PreAuthorize("hasRole('USER')")
+    public Mono<String> getUserInfo() {
+        return Mono.just("user info");
+    }
+
+    @GetMapping("/admin")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Mono<String> getAdminInfo() {
+        return Mono.just("admin info");
+    }
+
+    @GetMapping("/service")
+    @PreAuthorize("hasRole('SERVICE')")
+    public Mono<String> getServiceInfo() {
+        return Mono.just("service info");
+    }
+
+    @GetMapping("/me")
+    public Mono<Object> getMe(@AuthenticationPrincipal KeycloakPrincipal principal) {
+        return Mono.just(principal.getName());
+    }
+
+    @GetMapping("/test")
+    public Mono<ResponseEntity<?>> test(@AuthenticationPrincipal KeycloakPrincipal principal) {
+        return Mono.just(ResponseEntity.ok(principal.getLdapId()));
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.reactive.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.dto.BaseResponse;
+import org.example.util.Utils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Writes {@link BaseResponse} errors from web filters and exception handlers outside controllers,
+ * same body as servlet {@link org.example.exception.ErrorResponseWriter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveErrorResponseWriter {
+    private final ObjectMapper objectMapper;
+
+    public Mono<Void> write(ServerHttpResponse response, HttpStatus status, String error) {
+        return write(response, status, BaseResponse.builder()
+                .timestamp(Instant.now())
+                .message(Utils.getMessageForStatus(status))
+                .errors(Set.of(error))
+                .build());
+    }
+
+    public Mono<Void> write(ServerHttpResponse response, HttpStatus status, BaseResponse<?> body) {
+        if (response.isCommitted())
+            return Mono.empty();
+        final byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(bytes.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bytes)));
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.reactive.exception;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.BaseResponse;
+import org.example.exception.ErrorLogLimiter;
+import org.example.util.Utils;
+import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Port of servlet {@code /error} handling of {@link org.example.exception.GlobalExceptionHandler}: errors raised
+ * outside controllers (unknown path, web filters) answered with {@link BaseResponse} instead of Boot's default body.
+ * Ordered before Boot's {@code DefaultErrorWebExceptionHandler}.
+ */
+@Slf4j
+@Component
+@Order(-2)
+@RequiredArgsConstructor
+public class ReactiveErrorWebExceptionHandler implements ErrorWebExceptionHandler {
+    private final ReactiveErrorResponseWriter errorResponseWriter;
+    private final ErrorLogLimiter errorLogLimiter;
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable e) {
+        final HttpStatus status = e instanceof ResponseStatusException statusException
+                ? statusException.getStatus()
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+        errorLogLimiter.log(log, e, status, e.getMessage(), exchange.getRequest().getPath().value());
+
+        return errorResponseWriter.write(exchange.getResponse(), status, BaseResponse.builder()
+                .timestamp(Instant.now())
+                .errors(Set.of(status.getReasonPhrase()))
+                .message(Utils.getMessageForStatus(status))
+                .errorType(log.isErrorEnabled() && !(e instanceof ResponseStatusException) ? e.getClass().toString() : null)
+                .build());
+    }
+}
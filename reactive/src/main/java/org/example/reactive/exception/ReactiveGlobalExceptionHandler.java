@@ -0,0 +1,106 @@
+package org.example.reactive.exception;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.BaseResponse;
+import org.example.exception.CustomAppException;
+import org.example.exception.ErrorLogLimiter;
+import org.example.util.Utils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+
+import javax.validation.ConstraintViolationException;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux port of {@link org.example.exception.GlobalExceptionHandler}, produces same {@link BaseResponse} bodies.
+ */
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ReactiveGlobalExceptionHandler {
+    private static final String FIELD_ERROR_SEPARATOR = ": ";
+
+    private final ErrorLogLimiter errorLogLimiter;
+
+    /**
+     * Catch {@link WebExchangeBindException} exceptions, reactive analog of {@code MethodArgumentNotValidException}.
+     * Get when using @Valid annotation with controller's methods parameter(s).
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> handleBindException(WebExchangeBindException e, ServerWebExchange exchange) {
+        final HttpStatus status = HttpStatus.BAD_REQUEST;
+        final Set<String> errors = e.getFieldErrors().stream()
+                .map(field -> field.getField() + FIELD_ERROR_SEPARATOR + field.getDefaultMessage() + "; Пришло" + FIELD_ERROR_SEPARATOR + field.getRejectedValue())
+                .collect(Collectors.toSet());
+        return getExceptionResponseEntity(e, status, Utils.getMessageForStatus(status), errors, exchange);
+    }
+
+    /**
+     * Catch {@link ServerWebInputException} exceptions, reactive analog of type mismatch and not readable body.
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Object> handleServerWebInput(ServerWebInputException e, ServerWebExchange exchange) {
+        final HttpStatus status = e.getStatus();
+        return getExceptionResponseEntity(e, status, Utils.getMessageForStatus(status), getErrors(e), exchange);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Object> handleConstraintViolation(ConstraintViolationException e, ServerWebExchange exchange) {
+        final HttpStatus status = HttpStatus.BAD_REQUEST;
+        final Set<String> errors = e.getConstraintViolations().stream()
+                .map(violation -> violation.getPropertyPath() + FIELD_ERROR_SEPARATOR + violation.getMessage() + "; Пришло" + FIELD_ERROR_SEPARATOR + violation.getInvalidValue())
+                .collect(Collectors.toSet());
+        return getExceptionResponseEntity(e, status, Utils.getMessageForStatus(status), errors, exchange);
+    }
+
+    @ExceptionHandler(CustomAppException.class)
+    public ResponseEntity<Object> handleCustomErrors(CustomAppException e, ServerWebExchange exchange) {
+        final HttpStatus status = e.getHttpStatus();
+        final Set<String> errors = (e.getErrors() == null || e.getErrors().isEmpty()) ? Utils.getExceptionMessageChain(e, e.getMessage()) : e.getErrors();
+        return getExceptionResponseEntity(e, status, e.getMessage(), errors, exchange);
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Object> handleAccessDenied(AccessDeniedException e, ServerWebExchange exchange) {
+        final HttpStatus status = HttpStatus.FORBIDDEN;
+        return getExceptionResponseEntity(e, status, Utils.getMessageForStatus(status), getErrors(e), exchange);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Object> handleAllErrors(Exception e, ServerWebExchange exchange) {
+        final HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        return getExceptionResponseEntity(e, status, Utils.getMessageForStatus(status), getErrors(e), exchange);
+    }
+
+    private Set<String> getErrors(final Exception e) {
+        final String error = e.getLocalizedMessage();
+        Set<String> errors = null;
+        if (log.isErrorEnabled() && error != null && error.contains(FIELD_ERROR_SEPARATOR)) {
+            errors = error.split(FIELD_ERROR_SEPARATOR).length > 1
+                    ? Utils.getExceptionMessageChain(e)
+                    : Collections.singleton(error.substring(0, error.indexOf(FIELD_ERROR_SEPARATOR)));
+        }
+        return errors;
+    }
+
+    private ResponseEntity<Object> getExceptionResponseEntity(final Exception e, final HttpStatus status, final String message, final Set<String> errors, ServerWebExchange exchange) {
+        errorLogLimiter.log(log, e, status, e.getMessage(), "uri=" + exchange.getRequest().getPath().value());
+        final BaseResponse<?> response = BaseResponse.builder()
+                .timestamp(Instant.now())
+                .message(message)
+                .errors(errors)
+                .errorType(log.isErrorEnabled() ? e.getClass().getSimpleName() : null)
+                .build();
+        return ResponseEntity.status(status).body(response);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.benchmark;
+
+import org.example.authorization.RoleRegistry;
+import org.example.authorization.RoleRule;
+import org.example.authorization.RoleRuleParser;
+import org.example.config.KeycloakAuthenticationToken;
+import org.example.config.KeycloakPrincipal;
+import org.example.controller.SampleController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code @PreAuthorize} SpEL evaluation against compiled role bitmask rule for {@link SampleController#getAdminInfo()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthorizationBenchmark {
+    private final PreAuthorizeAuthorizationManager preAuthorizeManager = new PreAuthorizeAuthorizationManager();
+    private SimpleMethodInvocation invocation;
+    private Authentication authentication;
+    private RoleRegistry roleRegistry;
+    private RoleRule rule;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        final Method method = SampleController.class.getMethod("getAdminInfo");
+        invocation = new SimpleMethodInvocation(new SampleController(null), method);
+
+        roleRegistry = new RoleRegistry();
+        rule = new RoleRuleParser(roleRegistry).parse(method.getAnnotation(PreAuthorize.class).value());
+
+        final List<GrantedAuthority> authorities = AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN", "ROLE_offline_access");
+        final Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("user")
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        authentication = new KeycloakAuthenticationToken(jwt, new KeycloakPrincipal(jwt.getClaims(), authorities, "user"), authorities,
+                roleRegistry.maskOf(authorities));
+    }
+
+    @Benchmark
+    public boolean spel() {
+        final AuthorizationDecision decision = preAuthorizeManager.check(() -> authentication, invocation);
+        return decision == null || decision.isGranted();
+    }
+
+    @Benchmark
+    public boolean bitset() {
+        return rule.isGranted(authentication.isAuthenticated(), roleRegistry.maskOf(authentication));
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.benchmark;
+
+import org.example.config.KeycloakBearerTokenResolver;
+import org.example.util.TokenKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token front end before verification: bearer extraction by {@link DefaultBearerTokenResolver} regex against
+ * {@link KeycloakBearerTokenResolver} scan, and cache key of token (cached decoder and introspector hit path).
+ * Allocation rates reported by {@code gc} profiler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BearerTokenBenchmark {
+    private final BearerTokenResolver defaultResolver = new DefaultBearerTokenResolver();
+    private final BearerTokenResolver scanningResolver = new KeycloakBearerTokenResolver();
+    private MockHttpServletRequest request;
+    private String token;
+
+    @Setup
+    public void setup() {
+        token = new TokenFixtures().mint(UUID.randomUUID(), List.of("user", "offline_access", "uma_authorization"));
+        request = new MockHttpServletRequest("GET", "/api/user");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+
+    @Benchmark
+    public String defaultResolver() {
+        return defaultResolver.resolve(request);
+    }
+
+    @Benchmark
+    public String scanningResolver() {
+        return scanningResolver.resolve(request);
+    }
+
+    @Benchmark
+    public TokenKey tokenKey() {
+        return TokenKey.of(token);
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.audit.AuthAuditLog;
+import org.example.config.properties.AuditProperties;
+import org.example.config.properties.ErrorProperties;
+import org.example.exception.ErrorLogLimiter;
+import org.example.exception.ErrorResponseWriter;
+import org.example.exception.GlobalExceptionHandler;
+import org.example.metrics.AuthMetrics;
+import org.example.util.BaseResponseWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.RequestDispatcher;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 401 response cost: direct write from entry point against {@code sendError} followed by
+ * {@link GlobalExceptionHandler#handleError} and Jackson serialization of its body.
+ * Servlet container re-dispatch and second filter chain pass come on top of {@code sendErrorAndDispatch} in real server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorDispatchBenchmark {
+    private static final String MESSAGE = "An error occurred while attempting to decode the Jwt: Jwt expired at 2022-12-01T10:00:00Z";
+
+    private ObjectMapper objectMapper;
+    private ErrorResponseWriter errorResponseWriter;
+    private GlobalExceptionHandler globalExceptionHandler;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().serializationInclusion(JsonInclude.Include.NON_NULL).build();
+        final ErrorProperties errorProperties = new ErrorProperties();
+        errorResponseWriter = new ErrorResponseWriter(new BaseResponseWriter(objectMapper, JsonInclude.Include.NON_NULL), errorProperties);
+        globalExceptionHandler = new GlobalExceptionHandler(new ErrorLogLimiter(errorProperties),
+                new AuthMetrics(new SimpleMeterRegistry(), new AuthAuditLog(new AuditProperties())));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse directWrite() throws IOException {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        errorResponseWriter.unauthorized(response, MESSAGE);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse sendErrorAndDispatch() throws IOException {
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        response.sendError(HttpServletResponse.SC_UNAUTHORIZED, MESSAGE);
+
+        final MockHttpServletRequest errorRequest = new MockHttpServletRequest("GET", "/error");
+        errorRequest.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, response.getStatus());
+        errorRequest.setAttribute(RequestDispatcher.ERROR_MESSAGE, response.getErrorMessage());
+        errorRequest.setAttribute(RequestDispatcher.FORWARD_REQUEST_URI, "/api/user");
+        final ResponseEntity<?> entity = globalExceptionHandler.handleError(errorRequest);
+
+        final MockHttpServletResponse errorResponse = new MockHttpServletResponse();
+        errorResponse.setStatus(entity.getStatusCodeValue());
+        errorResponse.getOutputStream().write(objectMapper.writeValueAsBytes(entity.getBody()));
+        return errorResponse;
+    }
+}
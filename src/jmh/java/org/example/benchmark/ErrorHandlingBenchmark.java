@@ -0,0 +1,87 @@
+package org.example.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.audit.AuthAuditLog;
+import org.example.config.properties.AuditProperties;
+import org.example.config.properties.ErrorProperties;
+import org.example.exception.CustomAppException;
+import org.example.exception.ErrorLogLimiter;
+import org.example.exception.GlobalExceptionHandler;
+import org.example.metrics.AuthMetrics;
+import org.example.util.Utils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GlobalExceptionHandler} response building and {@link Utils} helpers on error and cache paths.
+ * Error logging switched to limited mode to measure handler instead of log appender.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ErrorHandlingBenchmark {
+    private GlobalExceptionHandler handler;
+    private ServletWebRequest request;
+    private CustomAppException exception;
+    private Path cacheRoot;
+    private UUID uid;
+
+    @Setup
+    public void setup() throws IOException {
+        final ErrorProperties errorProperties = new ErrorProperties();
+        errorProperties.getLogging().setMode(ErrorProperties.Mode.LIMITED);
+        errorProperties.getLogging().setLimitPerInterval(0);
+        handler = new GlobalExceptionHandler(new ErrorLogLimiter(errorProperties),
+                new AuthMetrics(new SimpleMeterRegistry(), new AuthAuditLog(new AuditProperties())));
+        request = new ServletWebRequest(new MockHttpServletRequest("GET", "/api/test"));
+        exception = new CustomAppException(HttpStatus.BAD_REQUEST, "Invalid data",
+                new IllegalStateException("Inner failure", new IllegalArgumentException("Root cause")));
+        cacheRoot = Files.createTempDirectory("bench-cache");
+        uid = UUID.randomUUID();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(cacheRoot);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> customErrorResponse() {
+        return handler.handleCustomErrors(exception, request);
+    }
+
+    @Benchmark
+    public Set<String> exceptionMessageChain() {
+        return Utils.getExceptionMessageChain(exception, exception.getMessage());
+    }
+
+    @Benchmark
+    public Path cachePath() {
+        return Utils.getCachePath(cacheRoot.toString(), uid);
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.audit.AuthAuditLog;
+import org.example.config.KeycloakAuthenticationToken;
+import org.example.config.KeycloakPrincipal;
+import org.example.config.UserValidationFilter;
+import org.example.config.properties.AuditProperties;
+import org.example.config.properties.ErrorProperties;
+import org.example.config.properties.UserSyncProperties;
+import org.example.exception.ErrorResponseWriter;
+import org.example.metrics.AuthMetrics;
+import org.example.service.UserSyncRegistry;
+import org.example.util.BaseResponseWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserValidationFilter} for synchronized (pass) and not synchronized (403) users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+    private UserValidationFilter filter;
+    private KeycloakAuthenticationToken synchronizedUser;
+    private KeycloakAuthenticationToken unknownUser;
+
+    @Setup
+    public void setup() {
+        final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        final UserSyncProperties userSyncProperties = new UserSyncProperties();
+        final UserSyncRegistry registry = new UserSyncRegistry(userSyncProperties);
+        final UUID synchronizedId = UUID.randomUUID();
+        registry.add(List.of(synchronizedId));
+        final ErrorResponseWriter errorResponseWriter = new ErrorResponseWriter(
+                new BaseResponseWriter(objectMapper, JsonInclude.Include.NON_NULL), new ErrorProperties());
+        final AuthMetrics authMetrics = new AuthMetrics(new SimpleMeterRegistry(), new AuthAuditLog(new AuditProperties()));
+        filter = new UserValidationFilter(objectMapper, userSyncProperties, registry, errorResponseWriter, authMetrics);
+        synchronizedUser = authentication(jwt(synchronizedId));
+        unknownUser = authentication(jwt(UUID.randomUUID()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse synchronizedUser() throws ServletException, IOException {
+        return filter(synchronizedUser);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse notSynchronizedUser() throws ServletException, IOException {
+        return filter(unknownUser);
+    }
+
+    private MockHttpServletResponse filter(KeycloakAuthenticationToken authentication) throws ServletException, IOException {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/user"), response, new MockFilterChain());
+        return response;
+    }
+
+    private static KeycloakAuthenticationToken authentication(Jwt jwt) {
+        return new KeycloakAuthenticationToken(jwt, new KeycloakPrincipal(jwt.getClaims(), List.of(), jwt.getSubject()), List.of(), 0);
+    }
+
+    private static Jwt jwt(UUID subject) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject(subject.toString())
+                .claim("preferred_username", "user")
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.benchmark;
+
+import org.example.authorization.RoleRegistry;
+import org.example.config.KeycloakJwtAuthenticationConverter;
+import org.example.config.properties.InternalTokenProperties;
+import org.example.config.properties.JwtCacheProperties;
+import org.example.config.properties.RoleProperties;
+import org.example.service.InternalTokenService;
+import org.example.service.RevocationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication of service hop: Keycloak JWT RSA decode and conversion against internal token HMAC verification.
+ * Token sizes printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InternalTokenBenchmark {
+    private String jwtToken;
+    private String internalToken;
+    private NimbusJwtDecoder decoder;
+    private KeycloakJwtAuthenticationConverter converter;
+    private InternalTokenService internalTokens;
+
+    @Setup
+    public void setup() {
+        final TokenFixtures fixtures = new TokenFixtures();
+        jwtToken = fixtures.mint(UUID.randomUUID(), List.of("service", "offline_access", "uma_authorization"));
+        decoder = NimbusJwtDecoder.withPublicKey(fixtures.getPublicKey()).build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(TokenFixtures.ISSUER));
+        final RoleRegistry roleRegistry = new RoleRegistry();
+        converter = new KeycloakJwtAuthenticationConverter(new RoleProperties(), roleRegistry, new JwtCacheProperties());
+
+        final InternalTokenProperties properties = new InternalTokenProperties();
+        properties.setEnabled(true);
+        properties.setSecret("benchmark-secret-benchmark-secret-benchmark-secret");
+        internalTokens = new InternalTokenService(properties, roleRegistry,
+                new StaticListableBeanFactory().getBeanProvider(RevocationRegistry.class));
+        internalToken = internalTokens.issue(converter.convert(decoder.decode(jwtToken))).token();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken jwt() {
+        return converter.convert(decoder.decode(jwtToken));
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken internal() {
+        return internalTokens.authenticate(internalToken);
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.benchmark;
+
+import org.example.config.CachingJwtDecoder;
+import org.example.config.CompactJwtDecoder;
+import org.example.config.JwksKeyStore;
+import org.example.config.KeycloakAuthenticationToken;
+import org.example.config.KeycloakPrincipal;
+import org.example.config.properties.JwksProperties;
+import org.example.service.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resource-server JWT decode and verify (Nimbus, {@link CompactJwtDecoder} and cached) and claim access as in
+ * {@link Test#test()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtDecodeBenchmark {
+    private final Test test = new Test();
+    private String token;
+    private JwtDecoder decoder;
+    private JwtDecoder compactDecoder;
+    private JwtDecoder cachingDecoder;
+
+    @Setup
+    public void setup() {
+        final TokenFixtures fixtures = new TokenFixtures();
+        token = fixtures.mint(UUID.randomUUID(), List.of("user", "offline_access", "uma_authorization"));
+        final NimbusJwtDecoder nimbusDecoder = NimbusJwtDecoder.withPublicKey(fixtures.getPublicKey()).build();
+        nimbusDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(TokenFixtures.ISSUER));
+        decoder = nimbusDecoder;
+        cachingDecoder = new CachingJwtDecoder(nimbusDecoder, 10_000);
+        final JwksProperties jwksProperties = new JwksProperties();
+        final JwksKeyStore keyStore = new JwksKeyStore(null,
+                new ByteArrayResource(fixtures.getJwkSet().getBytes(StandardCharsets.UTF_8)), jwksProperties, null);
+        keyStore.start();
+        compactDecoder = new CompactJwtDecoder(keyStore, jwksProperties.getAlgorithms(), JwtValidators.createDefaultWithIssuer(TokenFixtures.ISSUER));
+        final Jwt jwt = decoder.decode(token);
+        SecurityContextHolder.getContext().setAuthentication(
+                new KeycloakAuthenticationToken(jwt, new KeycloakPrincipal(jwt.getClaims(), List.of(), jwt.getSubject()), List.of(), 0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return decoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeCompact() {
+        return compactDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeCached() {
+        return cachingDecoder.decode(token);
+    }
+
+    @Benchmark
+    public Object claimAccess() {
+        return test.test();
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.benchmark;
+
+import org.example.authorization.PathAuthorizationManager;
+import org.example.authorization.RoleRegistry;
+import org.example.authorization.RoleRule;
+import org.example.authorization.RoleRuleParser;
+import org.example.config.properties.AuthorizationProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rule lookup for request: ordered {@link AntPathRequestMatcher} list checked one by one (as {@code antMatchers})
+ * against {@link PathAuthorizationManager} trie, over growing rule count. Requests spread over all rules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PathMatchingBenchmark {
+    private static final String[] ROLES = {"USER", "ADMIN", "SERVICE", "AUDITOR"};
+
+    @Param({"10", "100", "400"})
+    private int services;
+
+    private final List<AntPathRequestMatcher> antMatchers = new ArrayList<>();
+    private final List<RoleRule> antRules = new ArrayList<>();
+    private PathAuthorizationManager trie;
+    private HttpServletRequest[] requests;
+
+    @Setup
+    public void setup() {
+        final RoleRegistry roleRegistry = new RoleRegistry();
+        final RoleRuleParser parser = new RoleRuleParser(roleRegistry);
+        final List<AuthorizationProperties.PathRule> rules = new ArrayList<>();
+        for (int i = 0; i < services; i++) {
+            final String access = "hasRole('" + ROLES[i % ROLES.length] + "')";
+            rules.add(rule(HttpMethod.GET, "/api/service" + i + "/items/{id}", access));
+            rules.add(rule(null, "/api/service" + i + "/admin/**", "hasRole('ADMIN')"));
+            rules.add(rule(null, "/api/service" + i + "/**", "isAuthenticated()"));
+        }
+        rules.add(rule(null, "/api/anonymous/**", "permitAll"));
+        for (AuthorizationProperties.PathRule rule : rules) {
+            antMatchers.add(new AntPathRequestMatcher(rule.getPath(), rule.getMethod() == null ? null : rule.getMethod().name()));
+            antRules.add(parser.parse(rule.getAccess()));
+        }
+        trie = new PathAuthorizationManager(rules, roleRegistry);
+
+        requests = new HttpServletRequest[1024];
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < requests.length; i++) {
+            final int service = random.nextInt(services);
+            final String path = switch (i % 3) {
+                case 0 -> "/api/service" + service + "/items/" + random.nextInt(1000);
+                case 1 -> "/api/service" + service + "/admin/users/" + random.nextInt(1000);
+                default -> "/api/service" + service + "/reports";
+            };
+            final MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+            request.setServletPath(path);
+            requests[i] = request;
+        }
+    }
+
+    @Benchmark
+    public RoleRule ant() {
+        final HttpServletRequest request = requests[ThreadLocalRandom.current().nextInt(requests.length)];
+        for (int i = 0; i < antMatchers.size(); i++) {
+            if (antMatchers.get(i).matches(request))
+                return antRules.get(i);
+        }
+        return RoleRule.AUTHENTICATED;
+    }
+
+    @Benchmark
+    public RoleRule trie() {
+        return trie.getRule(requests[ThreadLocalRandom.current().nextInt(requests.length)]);
+    }
+
+    private static AuthorizationProperties.PathRule rule(HttpMethod method, String path, String access) {
+        final AuthorizationProperties.PathRule rule = new AuthorizationProperties.PathRule();
+        rule.setMethod(method);
+        rule.setPath(path);
+        rule.setAccess(access);
+        return rule;
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.benchmark;
+
+import org.example.authorization.RoleRegistry;
+import org.example.config.KeycloakAuthenticationToken;
+import org.example.config.KeycloakPrincipal;
+import org.example.config.properties.RateLimitProperties;
+import org.example.config.properties.RoleProperties;
+import org.example.ratelimit.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RateLimiter#tryAcquire} by 4 threads over growing count of distinct subjects, expected flat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class RateLimitBenchmark {
+    @Param({"1", "10000", "1000000"})
+    private int subjects;
+
+    private RateLimiter rateLimiter;
+    private KeycloakAuthenticationToken[] authentications;
+
+    @Setup
+    public void setup() {
+        final RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setRequests(Integer.MAX_VALUE);
+        rule.setPeriod(Duration.ofSeconds(1));
+        final RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(rule));
+        rateLimiter = new RateLimiter(properties, new RoleProperties(), new RoleRegistry());
+        authentications = new KeycloakAuthenticationToken[subjects];
+        for (int i = 0; i < subjects; i++) {
+            final Jwt jwt = Jwt.withTokenValue("token")
+                    .header("alg", "RS256")
+                    .subject(UUID.randomUUID().toString())
+                    .expiresAt(Instant.now().plusSeconds(3600))
+                    .build();
+            authentications[i] = new KeycloakAuthenticationToken(jwt, new KeycloakPrincipal(jwt.getClaims(), List.of(), jwt.getSubject()), List.of(), 0);
+            rateLimiter.tryAcquire(authentications[i], "/api/user");
+        }
+    }
+
+    @Benchmark
+    public long tryAcquire() {
+        return rateLimiter.tryAcquire(authentications[ThreadLocalRandom.current().nextInt(subjects)], "/api/user");
+    }
+}
@@ -0,0 +1,64 @@
+package org.example.benchmark;
+
+import org.example.config.properties.RevocationProperties;
+import org.example.service.RevocationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RevocationRegistry#isRevoked} for not revoked token (Bloom filter miss) and revoked one (exact lookup)
+ * with 10k revocations of each kind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RevocationBenchmark {
+    private static final int REVOCATIONS = 10_000;
+
+    private RevocationRegistry registry;
+    private String jti;
+    private String subject;
+    private String revokedJti;
+    private Instant issuedAt;
+
+    @Setup
+    public void setup() {
+        final RevocationProperties properties = new RevocationProperties();
+        properties.setExpectedRevocations(REVOCATIONS * 2);
+        registry = new RevocationRegistry(properties);
+        final Instant expiresAt = Instant.now().plusSeconds(3600);
+        for (int i = 0; i < REVOCATIONS; i++) {
+            revokedJti = UUID.randomUUID().toString();
+            registry.revokeToken(revokedJti, expiresAt);
+            registry.revokeSubject(UUID.randomUUID().toString(), Instant.now());
+        }
+        jti = UUID.randomUUID().toString();
+        subject = UUID.randomUUID().toString();
+        issuedAt = Instant.now();
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return registry.isRevoked(jti, subject, issuedAt);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return registry.isRevoked(revokedJti, subject, issuedAt);
+    }
+}
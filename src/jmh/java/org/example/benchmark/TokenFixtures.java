@@ -0,0 +1,78 @@
+package org.example.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.security.interfaces.RSAPublicKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keycloak-like tokens minted locally with generated RSA key.
+ */
+final class TokenFixtures {
+    static final String ISSUER = "http://localhost:8484/auth/realms/test";
+
+    private final RSAKey rsaKey;
+    private final RSASSASigner signer;
+
+    TokenFixtures() {
+        try {
+            rsaKey = new RSAKeyGenerator(2048).keyID("bench-key").generate();
+            signer = new RSASSASigner(rsaKey);
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    RSAPublicKey getPublicKey() {
+        try {
+            return rsaKey.toRSAPublicKey();
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return JWKS document with public key, as served by realm certs endpoint
+     */
+    String getJwkSet() {
+        return new JWKSet(rsaKey.toPublicJWK()).toString();
+    }
+
+    String mint(UUID subject, List<String> roles) {
+        final Instant now = Instant.now();
+        final JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(subject.toString())
+                .audience("account")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(3600)))
+                .jwtID(UUID.randomUUID().toString())
+                .claim("typ", "Bearer")
+                .claim("azp", "keycloak-auth")
+                .claim("preferred_username", "user-" + subject.toString().substring(0, 8))
+                .claim("LDAP_ID", "ldap-" + subject)
+                .claim("realm_access", Map.of("roles", roles))
+                .claim("resource_access", Map.of("account", Map.of("roles", List.of("manage-account", "view-profile"))))
+                .claim("scope", "openid profile email")
+                .build();
+        final SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(rsaKey.getKeyID()).build(), claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new IllegalStateException(e);
+        }
+        return jwt.serialize();
+    }
+}
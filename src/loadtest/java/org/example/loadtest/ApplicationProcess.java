@@ -0,0 +1,87 @@
+package org.example.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application started in separate JVM against {@link KeycloakStandIn} issuer. Stand-in subjects are not in
+ * synchronized users snapshot, so user sync check disabled unless set in environment.
+ */
+final class ApplicationProcess implements AutoCloseable {
+    static final String MAIN_CLASS = "org.example.KeycloakAuthApplication";
+
+    private final Process process;
+    private final URI baseUrl;
+    private final long startedNanos;
+
+    private ApplicationProcess(Process process, URI baseUrl, long startedNanos) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+        this.startedNanos = startedNanos;
+    }
+
+    /**
+     * @param log file for application output, {@code null} to inherit output of this process
+     */
+    static ApplicationProcess start(String classpath, String issuer, int port, List<String> jvmArgs, List<String> appArgs, File log)
+            throws IOException {
+        final List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-cp", classpath, MAIN_CLASS));
+        command.addAll(appArgs);
+        final ProcessBuilder builder = new ProcessBuilder(command);
+        builder.environment().put("KEYCLOAK_REALM_URL", issuer);
+        builder.environment().put("SERVER_PORT", Integer.toString(port));
+        builder.environment().putIfAbsent("KEYCLOAK_USER_SYNC_ENABLED", "false");
+        if (log != null) {
+            log.getAbsoluteFile().getParentFile().mkdirs();
+            builder.redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.appendTo(log));
+        } else {
+            builder.inheritIO();
+        }
+        final long started = System.nanoTime();
+        return new ApplicationProcess(builder.start(), URI.create("http://localhost:" + port), started);
+    }
+
+    URI getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Poll until request answered with 200.
+     *
+     * @return nanos from process start to first 200
+     */
+    long awaitOk(HttpClient client, HttpRequest request, Duration timeout, Duration pollInterval) throws IOException, InterruptedException {
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive())
+                throw new IOException("Application exited with code " + process.exitValue());
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+                    return System.nanoTime() - startedNanos;
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(pollInterval.toMillis());
+        }
+        throw new IOException("No 200 from " + request.uri() + " in " + timeout);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS))
+            process.destroyForcibly().waitFor();
+    }
+}
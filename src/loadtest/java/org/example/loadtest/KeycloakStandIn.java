@@ -0,0 +1,322 @@
+package org.example.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embedded Keycloak stand-in: per realm OIDC discovery, JWKS and RS256 tokens with Keycloak claim layout
+ * ({@code realm_access}, {@code resource_access}, {@code preferred_username}, {@code LDAP_ID}). Realm created on
+ * first request to its path. {@link #rotateKeys(String)} switches signing to new key, previous one kept in JWKS
+ * so tokens already issued stay valid, as Keycloak does on rotation.
+ * <p>
+ * Endpoints under {@code /auth/realms/<realm>}: {@code /.well-known/openid-configuration},
+ * {@code /protocol/openid-connect/certs}, {@code /protocol/openid-connect/token} (form {@code username},
+ * {@code roles} comma separated, {@code expires_in} seconds, {@code claim.<name>}; no credentials checked) and
+ * {@code /rotate}. Standalone arguments: {@code --port}, {@code --rotate} (seconds, 0 - never).
+ */
+public class KeycloakStandIn implements Closeable {
+    public static final String CLIENT_ID = "keycloak-auth";
+    private static final String REALMS_PATH = "/auth/realms/";
+    private static final String DISCOVERY_PATH = "/.well-known/openid-configuration";
+    private static final String CERTS_PATH = "/protocol/openid-connect/certs";
+    private static final String TOKEN_PATH = "/protocol/openid-connect/token";
+    private static final String ROTATE_PATH = "/rotate";
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Map<String, Realm> realms = new ConcurrentHashMap<>();
+    private final AtomicInteger jwksRequests = new AtomicInteger();
+
+    public KeycloakStandIn(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.createContext(REALMS_PATH, this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8484;
+        long rotateSeconds = 0;
+        for (String arg : args) {
+            final String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--port="))
+                port = Integer.parseInt(value);
+            else if (arg.startsWith("--rotate="))
+                rotateSeconds = Long.parseLong(value);
+        }
+        final KeycloakStandIn standIn = new KeycloakStandIn(port);
+        System.out.println("Keycloak stand-in on " + standIn.getIssuer("test"));
+        if (rotateSeconds > 0) {
+            final ScheduledExecutorService rotation = Executors.newSingleThreadScheduledExecutor();
+            rotation.scheduleAtFixedRate(() -> standIn.realms.keySet().forEach(standIn::rotateKeys),
+                    rotateSeconds, rotateSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public String getIssuer(String realm) {
+        return "http://localhost:" + server.getAddress().getPort() + REALMS_PATH + realm;
+    }
+
+    /**
+     * @param claims additional claims, override defaults with same name
+     */
+    public String mint(String realm, UUID subject, Collection<String> roles, Map<String, Object> claims, Duration ttl) {
+        final Instant now = Instant.now();
+        final Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("exp", now.plus(ttl).getEpochSecond());
+        payload.put("iat", now.getEpochSecond());
+        payload.put("jti", UUID.randomUUID().toString());
+        payload.put("iss", getIssuer(realm));
+        payload.put("aud", "account");
+        payload.put("sub", subject.toString());
+        payload.put("typ", "Bearer");
+        payload.put("azp", CLIENT_ID);
+        payload.put("preferred_username", "user-" + subject.toString().substring(0, 8));
+        payload.put("LDAP_ID", "ldap-" + subject);
+        payload.put("realm_access", Map.of("roles", List.copyOf(roles)));
+        payload.put("resource_access", Map.of("account", Map.of("roles", List.of("manage-account", "view-profile"))));
+        payload.put("scope", "openid profile email");
+        payload.putAll(claims);
+        return getRealm(realm).sign(toJson(payload));
+    }
+
+    /**
+     * Start signing with new key, previous signing key still published.
+     *
+     * @return id of new signing key
+     */
+    public String rotateKeys(String realm) {
+        return getRealm(realm).rotate();
+    }
+
+    public int getJwksRequestCount() {
+        return jwksRequests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private Realm getRealm(String realm) {
+        return realms.computeIfAbsent(realm, name -> new Realm());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        final String path = exchange.getRequestURI().getPath().substring(REALMS_PATH.length());
+        final int slash = path.indexOf('/');
+        final String realm = slash < 0 ? path : path.substring(0, slash);
+        final String endpoint = slash < 0 ? "" : path.substring(slash);
+        if (realm.isEmpty()) {
+            respond(exchange, 404, "{\"error\":\"Realm not found\"}");
+            return;
+        }
+        switch (endpoint) {
+            case DISCOVERY_PATH -> respond(exchange, 200, discovery(realm));
+            case CERTS_PATH -> {
+                jwksRequests.incrementAndGet();
+                respond(exchange, 200, getRealm(realm).jwks());
+            }
+            case TOKEN_PATH -> respond(exchange, 200, token(realm, parseForm(exchange)));
+            case ROTATE_PATH -> respond(exchange, 200, "{\"kid\":\"" + rotateKeys(realm) + "\"}");
+            default -> respond(exchange, 404, "{\"error\":\"Unknown endpoint\"}");
+        }
+    }
+
+    private String discovery(String realm) {
+        final String issuer = getIssuer(realm);
+        return toJson(Map.of(
+                "issuer", issuer,
+                "jwks_uri", issuer + CERTS_PATH,
+                "token_endpoint", issuer + TOKEN_PATH,
+                "id_token_signing_alg_values_supported", List.of("RS256"),
+                "subject_types_supported", List.of("public")));
+    }
+
+    private String token(String realm, Map<String, String> form) {
+        final String username = form.getOrDefault("username", "user");
+        final List<String> roles = Arrays.asList(form.getOrDefault("roles", "user").split(","));
+        final long expiresIn = Long.parseLong(form.getOrDefault("expires_in", "300"));
+        final Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("preferred_username", username);
+        form.forEach((name, value) -> {
+            if (name.startsWith("claim."))
+                claims.put(name.substring("claim.".length()), value);
+        });
+        final UUID subject = UUID.nameUUIDFromBytes(username.getBytes(StandardCharsets.UTF_8));
+        return toJson(Map.of(
+                "access_token", mint(realm, subject, roles, claims, Duration.ofSeconds(expiresIn)),
+                "token_type", "Bearer",
+                "expires_in", expiresIn));
+    }
+
+    private static Map<String, String> parseForm(HttpExchange exchange) throws IOException {
+        final Map<String, String> form = new LinkedHashMap<>();
+        final String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        for (String pair : body.split("&")) {
+            final int eq = pair.indexOf('=');
+            if (eq > 0)
+                form.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return form;
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    static String toJson(Object value) {
+        final StringBuilder json = new StringBuilder();
+        appendJson(json, value);
+        return json.toString();
+    }
+
+    private static void appendJson(StringBuilder json, Object value) {
+        if (value instanceof Map<?, ?> map) {
+            json.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first)
+                    json.append(',');
+                first = false;
+                appendJson(json, String.valueOf(entry.getKey()));
+                json.append(':');
+                appendJson(json, entry.getValue());
+            }
+            json.append('}');
+        } else if (value instanceof Collection<?> values) {
+            json.append('[');
+            boolean first = true;
+            for (Object element : values) {
+                if (!first)
+                    json.append(',');
+                first = false;
+                appendJson(json, element);
+            }
+            json.append(']');
+        } else if (value instanceof Number || value instanceof Boolean || value == null) {
+            json.append(value);
+        } else {
+            json.append('"');
+            for (char c : value.toString().toCharArray()) {
+                if (c == '"' || c == '\\')
+                    json.append('\\').append(c);
+                else if (c < 0x20)
+                    json.append(String.format("\\u%04x", (int) c));
+                else
+                    json.append(c);
+            }
+            json.append('"');
+        }
+    }
+
+    /**
+     * Signing key and keys published in JWKS, newest first.
+     */
+    private static final class Realm {
+        private static final int PUBLISHED_KEYS = 2;
+
+        private final List<SigningKey> keys = new ArrayList<>();
+
+        Realm() {
+            rotate();
+        }
+
+        synchronized String rotate() {
+            keys.add(0, new SigningKey(UUID.randomUUID().toString(), generateKeyPair()));
+            if (keys.size() > PUBLISHED_KEYS)
+                keys.remove(keys.size() - 1);
+            return keys.get(0).kid;
+        }
+
+        String sign(String payload) {
+            final SigningKey key;
+            synchronized (this) {
+                key = keys.get(0);
+            }
+            final String header = "{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"" + key.kid + "\"}";
+            final String signingInput = encode(header.getBytes(StandardCharsets.UTF_8)) + '.'
+                    + encode(payload.getBytes(StandardCharsets.UTF_8));
+            try {
+                final Signature signature = Signature.getInstance("SHA256withRSA");
+                signature.initSign(key.keyPair.getPrivate());
+                signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+                return signingInput + '.' + encode(signature.sign());
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Can't sign token", e);
+            }
+        }
+
+        synchronized String jwks() {
+            final List<Map<String, Object>> published = new ArrayList<>();
+            for (SigningKey key : keys) {
+                final RSAPublicKey publicKey = (RSAPublicKey) key.keyPair.getPublic();
+                published.add(Map.of(
+                        "kid", key.kid,
+                        "kty", "RSA",
+                        "alg", "RS256",
+                        "use", "sig",
+                        "n", encode(unsigned(publicKey.getModulus().toByteArray())),
+                        "e", encode(unsigned(publicKey.getPublicExponent().toByteArray()))));
+            }
+            return toJson(Map.of("keys", published));
+        }
+
+        private static KeyPair generateKeyPair() {
+            try {
+                final KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+                generator.initialize(2048);
+                return generator.generateKeyPair();
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Can't generate RSA key", e);
+            }
+        }
+
+        private static byte[] unsigned(byte[] bytes) {
+            return bytes.length > 1 && bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes;
+        }
+
+        private static String encode(byte[] bytes) {
+            return BASE64_URL.encodeToString(bytes);
+        }
+    }
+
+    private record SigningKey(String kid, KeyPair keyPair) {
+    }
+}
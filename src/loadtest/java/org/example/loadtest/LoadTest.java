@@ -0,0 +1,367 @@
+package org.example.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test against {@link KeycloakStandIn}. Starts stand-in, then application on
+ * {@code loadtest.appClasspath} with {@code KEYCLOAK_REALM_URL} pointing to it (or uses running {@code --target}),
+ * and drives closed-loop weighted mix of scenarios, reporting throughput, latency percentiles and
+ * unexpected status rate per scenario.
+ * <p>
+ * Options: {@code --mix} ({@code scenario:weight} comma separated, scenarios of {@link Scenario} in lower case),
+ * {@code --users} (distinct subjects), {@code --concurrency}, {@code --duration}, {@code --warmup} (ISO-8601 or
+ * seconds), {@code --rotate} (key rotation period in seconds, 0 - never), {@code --target}, {@code --appPort},
+ * {@code --appLog}, {@code --report}. Options {@code --app.<name>=<value>} passed to application as
+ * {@code --<name>=<value>}, e.g. {@code --app.keycloak.jwks.enabled=true}.
+ */
+public class LoadTest {
+    private static final String REALM = "test";
+    private static final String APP_OPTION_PREFIX = "app.";
+    private static final int TIMEOUT_STATUS = -1;
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    enum TokenKind {
+        NONE, USER, ADMIN, SERVICE, EXPIRED, INVALID
+    }
+
+    enum Scenario {
+        ANONYMOUS("/api/anonymous", TokenKind.NONE, 200),
+        USER("/api/user", TokenKind.USER, 200),
+        ADMIN("/api/admin", TokenKind.ADMIN, 200),
+        SERVICE("/api/service", TokenKind.SERVICE, 200),
+        ME("/api/me", TokenKind.USER, 200),
+        TEST("/api/test", TokenKind.USER, 200),
+        FORBIDDEN("/api/admin", TokenKind.USER, 403),
+        EXPIRED("/api/user", TokenKind.EXPIRED, 401),
+        INVALID("/api/user", TokenKind.INVALID, 401);
+
+        private final String path;
+        private final TokenKind tokenKind;
+        private final int expectedStatus;
+
+        Scenario(String path, TokenKind tokenKind, int expectedStatus) {
+            this.path = path;
+            this.tokenKind = tokenKind;
+            this.expectedStatus = expectedStatus;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = new LinkedHashMap<>(Map.of(
+                "mix", "anonymous:10,user:25,admin:5,service:5,me:20,test:20,forbidden:5,expired:5,invalid:5",
+                "users", "100",
+                "concurrency", "64",
+                "duration", "60",
+                "warmup", "15",
+                "rotate", "0",
+                "appPort", "8090"));
+        final List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            final int eq = arg.indexOf('=');
+            final String name = arg.substring(2, eq);
+            if (name.startsWith(APP_OPTION_PREFIX))
+                appArgs.add("--" + name.substring(APP_OPTION_PREFIX.length()) + arg.substring(eq));
+            else
+                options.put(name, arg.substring(eq + 1));
+        }
+        final double[] weights = parseMix(options.get("mix"));
+        final int concurrency = Integer.parseInt(options.get("concurrency"));
+        final Duration duration = parseDuration(options.get("duration"));
+        final Duration warmup = parseDuration(options.get("warmup"));
+        final long rotateSeconds = Long.parseLong(options.get("rotate"));
+
+        final ScheduledExecutorService rotation = Executors.newSingleThreadScheduledExecutor();
+        ApplicationProcess app = null;
+        try (KeycloakStandIn standIn = new KeycloakStandIn(0)) {
+            final TokenPool tokens = new TokenPool(standIn, Integer.parseInt(options.get("users")));
+            final URI target;
+            if (options.containsKey("target")) {
+                target = URI.create(options.get("target"));
+            } else {
+                app = startApplication(standIn.getIssuer(REALM), options, appArgs);
+                target = app.getBaseUrl();
+                app.awaitOk(HttpClient.newHttpClient(), readinessProbe(target), STARTUP_TIMEOUT, Duration.ofMillis(500));
+            }
+            System.out.println("Issuer " + standIn.getIssuer(REALM) + ", target " + target);
+            if (rotateSeconds > 0) {
+                rotation.scheduleAtFixedRate(() -> {
+                    standIn.rotateKeys(REALM);
+                    tokens.mintAll();
+                }, rotateSeconds, rotateSeconds, TimeUnit.SECONDS);
+            }
+
+            run(target, tokens, weights, concurrency, warmup);
+            final Result[] results = run(target, tokens, weights, concurrency, duration);
+            for (Result result : results) {
+                if (result.requests > 0 || result.timeouts > 0)
+                    System.out.println(result.format());
+            }
+            System.out.println("JWKS requests: " + standIn.getJwksRequestCount());
+            if (options.containsKey("report")) {
+                final Path report = Path.of(options.get("report"));
+                Files.createDirectories(report.toAbsolutePath().getParent());
+                Files.writeString(report, toJson(results));
+            }
+        } finally {
+            rotation.shutdownNow();
+            if (app != null)
+                app.close();
+        }
+    }
+
+    static Result[] run(URI target, TokenPool tokens, double[] weights, int concurrency, Duration duration) throws InterruptedException, IOException {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+        try {
+            final long deadline = System.nanoTime() + duration.toNanos();
+            final CountDownLatch done = new CountDownLatch(concurrency);
+            final VirtualUser[] users = new VirtualUser[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                users[i] = new VirtualUser(client, target, tokens, weights, deadline, done);
+                users[i].next();
+            }
+            if (!done.await(duration.toMillis() + 30_000, TimeUnit.MILLISECONDS))
+                throw new IOException("Virtual users not finished in time");
+            return Result.of(duration, users);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ApplicationProcess startApplication(String issuer, Map<String, String> options, List<String> appArgs) throws IOException {
+        final String classpath = System.getProperty("loadtest.appClasspath");
+        if (classpath == null)
+            throw new IllegalStateException("No loadtest.appClasspath system property, run with Gradle loadTest task or set --target");
+        final File log = options.containsKey("appLog") ? new File(options.get("appLog")) : null;
+        return ApplicationProcess.start(classpath, issuer, Integer.parseInt(options.get("appPort")), List.of(), appArgs, log);
+    }
+
+    private static HttpRequest readinessProbe(URI target) {
+        return HttpRequest.newBuilder(target.resolve(Scenario.ANONYMOUS.path)).timeout(Duration.ofSeconds(2)).GET().build();
+    }
+
+    private static double[] parseMix(String mix) {
+        final double[] cumulative = new double[Scenario.values().length];
+        for (String entry : mix.split(",")) {
+            final String[] parts = entry.trim().split(":");
+            cumulative[Scenario.valueOf(parts[0].toUpperCase()).ordinal()] = Double.parseDouble(parts[1]);
+        }
+        for (int i = 1; i < cumulative.length; i++)
+            cumulative[i] += cumulative[i - 1];
+        if (cumulative[cumulative.length - 1] <= 0)
+            throw new IllegalArgumentException("No scenarios with positive weight in mix " + mix);
+        return cumulative;
+    }
+
+    private static Duration parseDuration(String value) {
+        return value.startsWith("P") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static String toJson(Result[] results) {
+        final StringBuilder json = new StringBuilder("[");
+        for (Result result : results) {
+            if (json.length() > 1)
+                json.append(',');
+            json.append(String.format("{\"scenario\":\"%s\",\"requests\":%d,\"unexpected\":%d,\"timeouts\":%d,\"throughput\":%.1f,"
+                            + "\"unexpectedRate\":%.5f,\"p50Millis\":%.3f,\"p99Millis\":%.3f,\"p999Millis\":%.3f,\"maxMillis\":%.3f}",
+                    result.name, result.requests, result.unexpected, result.timeouts, result.throughput,
+                    result.unexpectedRate(), result.p50, result.p99, result.p999, result.max));
+        }
+        return json.append(']').toString();
+    }
+
+    /**
+     * Tokens per kind for fixed set of subjects, re-minted after key rotation so application meets new {@code kid}.
+     */
+    static final class TokenPool {
+        private static final Duration TTL = Duration.ofHours(1);
+        private static final Duration EXPIRED_TTL = Duration.ofMinutes(-5);
+
+        private final KeycloakStandIn standIn;
+        private final UUID[] subjects;
+        private volatile String[][] tokens;
+
+        TokenPool(KeycloakStandIn standIn, int users) {
+            this.standIn = standIn;
+            this.subjects = new UUID[Math.max(1, users)];
+            for (int i = 0; i < subjects.length; i++)
+                subjects[i] = UUID.randomUUID();
+            mintAll();
+        }
+
+        void mintAll() {
+            final String[][] minted = new String[TokenKind.values().length][subjects.length];
+            for (int i = 0; i < subjects.length; i++) {
+                minted[TokenKind.USER.ordinal()][i] = mint(subjects[i], List.of("user"), TTL);
+                minted[TokenKind.ADMIN.ordinal()][i] = mint(subjects[i], List.of("user", "admin"), TTL);
+                minted[TokenKind.SERVICE.ordinal()][i] = mint(subjects[i], List.of("service"), TTL);
+                minted[TokenKind.EXPIRED.ordinal()][i] = mint(subjects[i], List.of("user"), EXPIRED_TTL);
+                minted[TokenKind.INVALID.ordinal()][i] = tamper(minted[TokenKind.USER.ordinal()][i]);
+            }
+            tokens = minted;
+        }
+
+        String get(TokenKind kind, int index) {
+            return kind == TokenKind.NONE ? null : tokens[kind.ordinal()][index % subjects.length];
+        }
+
+        private String mint(UUID subject, List<String> roles, Duration ttl) {
+            return standIn.mint(REALM, subject, roles, Map.of(), ttl);
+        }
+
+        private static String tamper(String token) {
+            final char[] chars = token.toCharArray();
+            final int index = token.lastIndexOf('.') + 10;
+            chars[index] = chars[index] == 'A' ? 'B' : 'A';
+            return new String(chars);
+        }
+    }
+
+    private static final class VirtualUser {
+        private final HttpClient client;
+        private final URI target;
+        private final TokenPool tokens;
+        private final double[] weights;
+        private final long deadline;
+        private final CountDownLatch done;
+        private final long[][] latencies = new long[Scenario.values().length][256];
+        private final int[] counts = new int[Scenario.values().length];
+        private final int[] unexpected = new int[Scenario.values().length];
+        private final int[] timeouts = new int[Scenario.values().length];
+
+        VirtualUser(HttpClient client, URI target, TokenPool tokens, double[] weights, long deadline, CountDownLatch done) {
+            this.client = client;
+            this.target = target;
+            this.tokens = tokens;
+            this.weights = weights;
+            this.deadline = deadline;
+            this.done = done;
+        }
+
+        void next() {
+            final long started = System.nanoTime();
+            if (started >= deadline) {
+                done.countDown();
+                return;
+            }
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final Scenario scenario = pick(random.nextDouble(weights[weights.length - 1]));
+            final HttpRequest.Builder request = HttpRequest.newBuilder(target.resolve(scenario.path))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET();
+            final String token = tokens.get(scenario.tokenKind, random.nextInt(Integer.MAX_VALUE));
+            if (token != null)
+                request.header("Authorization", "Bearer " + token);
+            client.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, e) -> response != null ? response.statusCode() : TIMEOUT_STATUS)
+                    .thenAccept(status -> {
+                        record(scenario, status, System.nanoTime() - started);
+                        next();
+                    });
+        }
+
+        private Scenario pick(double point) {
+            for (Scenario scenario : Scenario.values()) {
+                if (point < weights[scenario.ordinal()])
+                    return scenario;
+            }
+            return Scenario.values()[weights.length - 1];
+        }
+
+        private void record(Scenario scenario, int status, long latencyNanos) {
+            final int i = scenario.ordinal();
+            if (status == TIMEOUT_STATUS) {
+                timeouts[i]++;
+                return;
+            }
+            if (status != scenario.expectedStatus)
+                unexpected[i]++;
+            if (counts[i] == latencies[i].length)
+                latencies[i] = Arrays.copyOf(latencies[i], counts[i] * 2);
+            latencies[i][counts[i]++] = latencyNanos;
+        }
+    }
+
+    record Result(String name, long requests, long unexpected, long timeouts,
+                  double throughput, double p50, double p99, double p999, double max) {
+        /**
+         * @return result per scenario, followed by total over all scenarios
+         */
+        static Result[] of(Duration duration, VirtualUser[] users) {
+            final Scenario[] scenarios = Scenario.values();
+            final Result[] results = new Result[scenarios.length + 1];
+            final List<long[]> all = new ArrayList<>();
+            long totalUnexpected = 0;
+            long totalTimeouts = 0;
+            for (Scenario scenario : scenarios) {
+                final int i = scenario.ordinal();
+                int count = 0;
+                long unexpected = 0;
+                long timeouts = 0;
+                for (VirtualUser user : users) {
+                    count += user.counts[i];
+                    unexpected += user.unexpected[i];
+                    timeouts += user.timeouts[i];
+                }
+                final long[] latencies = new long[count];
+                int offset = 0;
+                for (VirtualUser user : users) {
+                    System.arraycopy(user.latencies[i], 0, latencies, offset, user.counts[i]);
+                    offset += user.counts[i];
+                }
+                all.add(latencies);
+                totalUnexpected += unexpected;
+                totalTimeouts += timeouts;
+                results[i] = of(scenario.name().toLowerCase(), latencies, unexpected, timeouts, duration);
+            }
+            final long[] total = all.stream().flatMapToLong(Arrays::stream).toArray();
+            results[scenarios.length] = of("total", total, totalUnexpected, totalTimeouts, duration);
+            return results;
+        }
+
+        private static Result of(String name, long[] latencies, long unexpected, long timeouts, Duration duration) {
+            Arrays.sort(latencies);
+            final int count = latencies.length;
+            return new Result(name, count, unexpected, timeouts, count / (duration.toNanos() / 1e9),
+                    percentile(latencies, 0.5), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                    count == 0 ? 0 : latencies[count - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))] / 1e6;
+        }
+
+        double unexpectedRate() {
+            return requests + timeouts == 0 ? 0 : (unexpected + timeouts) / (double) (requests + timeouts);
+        }
+
+        String format() {
+            return String.format("%-10s rps=%-10.1f p50=%-8.2fms p99=%-8.2fms p999=%-8.2fms max=%-8.2fms unexpected=%.3f%% timeouts=%d",
+                    name, throughput, p50, p99, p999, max, unexpectedRate() * 100, timeouts);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package org.example.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop comparison of servlet and reactive builds at growing concurrency. Each virtual user keeps own
+ * connection and sends next request as soon as previous completes, so concurrency equals open connections.
+ * Both applications started separately ({@code bootRun} and {@code :reactive:bootRun}) against same issuer.
+ * <p>
+ * Arguments: {@code name=baseUrl} targets, then options {@code --token}, {@code --path}, {@code --concurrency}
+ * (comma separated levels), {@code --duration}, {@code --warmup} (ISO-8601 or seconds), {@code --report}.
+ */
+public class StackComparison {
+    private static final int TIMEOUT_STATUS = -1;
+
+    public static void main(String[] args) throws Exception {
+        final Map<String, URI> targets = new LinkedHashMap<>();
+        final Map<String, String> options = new LinkedHashMap<>(Map.of(
+                "path", "/api/user",
+                "concurrency", "64,256,1024,4096",
+                "duration", "30",
+                "warmup", "10",
+                "token", System.getenv().getOrDefault("LOADTEST_TOKEN", "")));
+        for (String arg : args) {
+            final int eq = arg.indexOf('=');
+            if (arg.startsWith("--"))
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            else
+                targets.put(arg.substring(0, eq), URI.create(arg.substring(eq + 1)));
+        }
+        if (targets.isEmpty())
+            throw new IllegalArgumentException("No targets, expected name=baseUrl arguments");
+
+        final int[] levels = Arrays.stream(options.get("concurrency").split(",")).mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+        final Duration duration = parseDuration(options.get("duration"));
+        final Duration warmup = parseDuration(options.get("warmup"));
+        final List<Result> results = new ArrayList<>();
+        for (Map.Entry<String, URI> target : targets.entrySet()) {
+            final HttpRequest.Builder request = HttpRequest.newBuilder(target.getValue().resolve(options.get("path")))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET();
+            if (!options.get("token").isEmpty())
+                request.header("Authorization", "Bearer " + options.get("token"));
+            for (int level : levels) {
+                run(request.build(), level, warmup);
+                final Result result = run(request.build(), level, duration);
+                results.add(result.named(target.getKey()));
+                System.out.println(result.format());
+            }
+        }
+        if (options.containsKey("report")) {
+            final Path report = Path.of(options.get("report"));
+            Files.createDirectories(report.toAbsolutePath().getParent());
+            Files.writeString(report, toJson(results));
+        }
+    }
+
+    static Result run(HttpRequest request, int concurrency, Duration duration) throws InterruptedException, IOException {
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+        try {
+            final long deadline = System.nanoTime() + duration.toNanos();
+            final CountDownLatch done = new CountDownLatch(concurrency);
+            final VirtualUser[] users = new VirtualUser[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                users[i] = new VirtualUser(client, request, deadline, done);
+                users[i].next();
+            }
+            if (!done.await(duration.toMillis() + 30_000, TimeUnit.MILLISECONDS))
+                throw new IOException("Virtual users not finished in time at concurrency " + concurrency);
+            return Result.of(concurrency, duration, users);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Duration parseDuration(String value) {
+        return value.startsWith("P") ? Duration.parse(value) : Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static String toJson(List<Result> results) {
+        final StringBuilder json = new StringBuilder("[");
+        for (Result result : results) {
+            if (json.length() > 1)
+                json.append(',');
+            json.append(String.format("{\"target\":\"%s\",\"concurrency\":%d,\"requests\":%d,\"errors\":%d,\"timeouts\":%d,"
+                            + "\"throughput\":%.1f,\"p50Millis\":%.3f,\"p99Millis\":%.3f,\"p999Millis\":%.3f,\"maxMillis\":%.3f}",
+                    result.target, result.concurrency, result.requests, result.errors, result.timeouts,
+                    result.throughput, result.p50, result.p99, result.p999, result.max));
+        }
+        return json.append(']').toString();
+    }
+
+    private static final class VirtualUser {
+        private final HttpClient client;
+        private final HttpRequest request;
+        private final long deadline;
+        private final CountDownLatch done;
+        private long[] latencies = new long[1024];
+        private int count;
+        private int errors;
+        private int timeouts;
+
+        VirtualUser(HttpClient client, HttpRequest request, long deadline, CountDownLatch done) {
+            this.client = client;
+            this.request = request;
+            this.deadline = deadline;
+            this.done = done;
+        }
+
+        void next() {
+            final long started = System.nanoTime();
+            if (started >= deadline) {
+                done.countDown();
+                return;
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, e) -> response != null ? response.statusCode() : TIMEOUT_STATUS)
+                    .thenAccept(status -> {
+                        record(status, System.nanoTime() - started);
+                        next();
+                    });
+        }
+
+        private void record(int status, long latencyNanos) {
+            if (status == TIMEOUT_STATUS) {
+                timeouts++;
+                return;
+            }
+            if (status >= 400)
+                errors++;
+            if (count == latencies.length)
+                latencies = Arrays.copyOf(latencies, count * 2);
+            latencies[count++] = latencyNanos;
+        }
+    }
+
+    record Result(String target, int concurrency, long requests, long errors, long timeouts,
+                  double throughput, double p50, double p99, double p999, double max) {
+        static Result of(int concurrency, Duration duration, VirtualUser[] users) {
+            int total = 0;
+            long errors = 0;
+            long timeouts = 0;
+            for (VirtualUser user : users) {
+                total += user.count;
+                errors += user.errors;
+                timeouts += user.timeouts;
+            }
+            final long[] all = new long[total];
+            int offset = 0;
+            for (VirtualUser user : users) {
+                System.arraycopy(user.latencies, 0, all, offset, user.count);
+                offset += user.count;
+            }
+            Arrays.sort(all);
+            return new Result(null, concurrency, total, errors, timeouts, total / (duration.toNanos() / 1e9),
+                    percentile(all, 0.5), percentile(all, 0.99), percentile(all, 0.999), total == 0 ? 0 : all[total - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))] / 1e6;
+        }
+
+        Result named(String target) {
+            return new Result(target, concurrency, requests, errors, timeouts, throughput, p50, p99, p999, max);
+        }
+
+        String format() {
+            return String.format("%-10s c=%-6d rps=%-10.1f p50=%-8.2fms p99=%-8.2fms p999=%-8.2fms max=%-8.2fms errors=%d timeouts=%d",
+                    target, concurrency, throughput, p50, p99, p999, max, errors, timeouts);
+        }
+    }
+}
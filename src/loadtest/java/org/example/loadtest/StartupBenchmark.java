@@ -0,0 +1,139 @@
+package org.example.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Startup time per mode: nanos from JVM launch to first 200 of anonymous endpoint and to first 200 of
+ * authenticated endpoint with {@link KeycloakStandIn} token. Modes: {@code default}, {@code fast-start} profile
+ * and {@code fast-start-cds} (same with Class Data Sharing archive, when it exists).
+ * <p>
+ * Options: {@code --appClasspath} (plain jars, e.g. unpacked boot jar libraries), {@code --archive} (CDS archive
+ * path), {@code --runs}, {@code --appLog}, {@code --report}. With {@code --train} single fast-start run writes
+ * archive with {@code -XX:ArchiveClassesAtExit}, so it covers classes of first anonymous and authenticated request.
+ */
+public class StartupBenchmark {
+    private static final String REALM = "test";
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final String FAST_START_PROFILE = "--spring.profiles.active=fast-start";
+
+    enum Mode {
+        DEFAULT, FAST_START, FAST_START_CDS
+    }
+
+    public static void main(String[] args) throws Exception {
+        final Map<String, String> options = new LinkedHashMap<>(Map.of("runs", "5"));
+        for (String arg : args) {
+            final int eq = arg.indexOf('=');
+            if (eq < 0)
+                options.put(arg.substring(2), "true");
+            else
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        final String classpath = options.get("appClasspath");
+        if (classpath == null)
+            throw new IllegalArgumentException("No --appClasspath");
+        final Path archive = options.containsKey("archive") ? Path.of(options.get("archive")) : null;
+        final File log = options.containsKey("appLog") ? new File(options.get("appLog")) : null;
+
+        try (KeycloakStandIn standIn = new KeycloakStandIn(0)) {
+            final String token = standIn.mint(REALM, UUID.randomUUID(), List.of("user"), Map.of(), Duration.ofHours(1));
+            if (options.containsKey("train")) {
+                if (archive == null)
+                    throw new IllegalArgumentException("No --archive for training run");
+                Files.createDirectories(archive.toAbsolutePath().getParent());
+                final long[] times = measure(classpath, standIn, token,
+                        List.of("-XX:ArchiveClassesAtExit=" + archive), List.of(FAST_START_PROFILE), log);
+                System.out.printf("training run: first 200 %.1f ms, first authenticated 200 %.1f ms, archive %s%n",
+                        times[0] / 1e6, times[1] / 1e6, archive);
+                return;
+            }
+
+            final List<String> report = new ArrayList<>();
+            final int runs = Integer.parseInt(options.get("runs"));
+            for (Mode mode : Mode.values()) {
+                final List<String> jvmArgs = new ArrayList<>();
+                final List<String> appArgs = new ArrayList<>();
+                if (mode != Mode.DEFAULT)
+                    appArgs.add(FAST_START_PROFILE);
+                if (mode == Mode.FAST_START_CDS) {
+                    if (archive == null || !Files.exists(archive)) {
+                        System.out.println("No CDS archive, " + mode + " skipped");
+                        continue;
+                    }
+                    jvmArgs.add("-XX:SharedArchiveFile=" + archive);
+                }
+                final long[] firstOk = new long[runs];
+                final long[] firstAuthenticatedOk = new long[runs];
+                for (int run = 0; run < runs; run++) {
+                    final long[] times = measure(classpath, standIn, token, jvmArgs, appArgs, log);
+                    firstOk[run] = times[0];
+                    firstAuthenticatedOk[run] = times[1];
+                }
+                final String name = mode.name().toLowerCase().replace('_', '-');
+                System.out.printf("%-15s first 200: %s  first authenticated 200: %s%n", name, format(firstOk), format(firstAuthenticatedOk));
+                report.add(String.format("{\"mode\":\"%s\",\"runs\":%d,\"firstOkMillis\":%s,\"firstAuthenticatedOkMillis\":%s}",
+                        name, runs, toJson(firstOk), toJson(firstAuthenticatedOk)));
+            }
+            if (options.containsKey("report")) {
+                final Path path = Path.of(options.get("report"));
+                Files.createDirectories(path.toAbsolutePath().getParent());
+                Files.writeString(path, "[" + String.join(",", report) + "]");
+            }
+        }
+    }
+
+    /**
+     * @return nanos to first anonymous 200 and to first authenticated 200, both from process start
+     */
+    private static long[] measure(String classpath, KeycloakStandIn standIn, String token, List<String> jvmArgs, List<String> appArgs,
+                                  File log) throws IOException, InterruptedException {
+        final HttpClient client = HttpClient.newHttpClient();
+        try (ApplicationProcess app = ApplicationProcess.start(classpath, standIn.getIssuer(REALM), freePort(), jvmArgs, appArgs, log)) {
+            final URI baseUrl = app.getBaseUrl();
+            final long firstOk = app.awaitOk(client, HttpRequest.newBuilder(baseUrl.resolve("/api/anonymous"))
+                    .timeout(Duration.ofSeconds(5)).GET().build(), TIMEOUT, POLL_INTERVAL);
+            final long firstAuthenticatedOk = app.awaitOk(client, HttpRequest.newBuilder(baseUrl.resolve("/api/user"))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(30)).GET().build(), TIMEOUT, POLL_INTERVAL);
+            return new long[] {firstOk, firstAuthenticatedOk};
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String format(long[] nanos) {
+        final long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        return String.format("median %.1f ms (min %.1f, max %.1f)",
+                sorted[sorted.length / 2] / 1e6, sorted[0] / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static String toJson(long[] nanos) {
+        final StringBuilder json = new StringBuilder("[");
+        for (long value : nanos) {
+            if (json.length() > 1)
+                json.append(',');
+            json.append(String.format("%.1f", value / 1e6));
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for Keycloak token introspection endpoint. Tokens starting with {@code active-} are active for
+ * {@code --ttl} seconds from server start, with {@code USER} realm role and subject derived from token, all others
+ * inactive. Optional {@code --delay} millis emulates network round trip; call count printed every 10 seconds,
+ * so cache hits and coalesced lookups visible as flat count under load.
+ * <p>
+ * Point application at it with
+ * {@code keycloak.introspection.introspection-uri=http://localhost:<port>/introspect}.
+ */
+public class StubIntrospectionServer {
+    private static final String ACTIVE_PREFIX = "active-";
+
+    private final AtomicLong calls = new AtomicLong();
+    private final long expiresAt;
+    private final long delayMillis;
+
+    StubIntrospectionServer(Duration ttl, long delayMillis) {
+        this.expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        this.delayMillis = delayMillis;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = 8585;
+        long ttl = 300;
+        long delay = 20;
+        for (String arg : args) {
+            final String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--port="))
+                port = Integer.parseInt(value);
+            else if (arg.startsWith("--ttl="))
+                ttl = Long.parseLong(value);
+            else if (arg.startsWith("--delay="))
+                delay = Long.parseLong(value);
+        }
+        final StubIntrospectionServer stub = new StubIntrospectionServer(Duration.ofSeconds(ttl), delay);
+        final HttpServer server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.createContext("/introspect", stub::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        System.out.println("Introspection stub on http://localhost:" + port + "/introspect");
+        Executors.newSingleThreadScheduledExecutor().scheduleAtFixedRate(
+                () -> System.out.println("introspection calls: " + stub.calls.get()), 10, 10, TimeUnit.SECONDS);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        calls.incrementAndGet();
+        final String token = getToken(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final String body = token != null && token.startsWith(ACTIVE_PREFIX)
+                ? "{\"active\":true,\"sub\":\"" + UUID.nameUUIDFromBytes(token.getBytes(StandardCharsets.UTF_8))
+                + "\",\"preferred_username\":\"" + token.substring(ACTIVE_PREFIX.length())
+                + "\",\"exp\":" + expiresAt + ",\"realm_access\":{\"roles\":[\"user\"]}}"
+                : "{\"active\":false}";
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String getToken(String form) {
+        for (String pair : form.split("&")) {
+            if (pair.startsWith("token="))
+                return URLDecoder.decode(pair.substring("token=".length()), StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.audit;
+
+/**
+ * Authentication/authorization result of request.
+ */
+public enum AuditOutcome {
+    GRANTED,
+    UNAUTHENTICATED,
+    FORBIDDEN,
+    THROTTLED,
+    CLIENT_ERROR,
+    SERVER_ERROR;
+
+    private static final AuditOutcome[] VALUES = values();
+
+    public static AuditOutcome ofStatus(int status) {
+        if (status < 400)
+            return GRANTED;
+        return switch (status) {
+            case 401 -> UNAUTHENTICATED;
+            case 403 -> FORBIDDEN;
+            case 429 -> THROTTLED;
+            default -> status < 500 ? CLIENT_ERROR : SERVER_ERROR;
+        };
+    }
+
+    static AuditOutcome ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.audit;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free multi-producer single-consumer ring of audit events stored in parallel primitive arrays.
+ * Producers never block: when ring is full event rejected.
+ */
+class AuditRing {
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    final long[] timestamps;
+    final long[] latencies;
+    final int[] pathIds;
+    final byte[] outcomes;
+    final String[] subjects;
+    private final long[] sequences;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+
+    AuditRing(int requestedCapacity) {
+        final int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        mask = capacity - 1;
+        sequences = new long[capacity];
+        timestamps = new long[capacity];
+        latencies = new long[capacity];
+        pathIds = new int[capacity];
+        outcomes = new byte[capacity];
+        subjects = new String[capacity];
+    }
+
+    boolean offer(long timestamp, String subject, AuditOutcome outcome, int pathId, long latencyNanos) {
+        long seq;
+        do {
+            seq = head.get();
+            if (seq - tail > mask)
+                return false;
+        } while (!head.compareAndSet(seq, seq + 1));
+        final int i = (int) (seq & mask);
+        timestamps[i] = timestamp;
+        latencies[i] = latencyNanos;
+        pathIds[i] = pathId;
+        outcomes[i] = (byte) outcome.ordinal();
+        subjects[i] = subject;
+        SEQUENCES.setRelease(sequences, i, seq + 1);
+        return true;
+    }
+
+    /**
+     * Consume up to {@code max} published events, called by single consumer thread only.
+     *
+     * @return count of consumed events
+     */
+    int drain(SlotConsumer consumer, int max) throws Exception {
+        int drained = 0;
+        long seq = tail;
+        while (drained < max) {
+            final int i = (int) (seq & mask);
+            if ((long) SEQUENCES.getAcquire(sequences, i) != seq + 1)
+                break;
+            consumer.accept(i);
+            subjects[i] = null;
+            tail = ++seq;
+            drained++;
+        }
+        return drained;
+    }
+
+    @FunctionalInterface
+    interface SlotConsumer {
+        void accept(int slot) throws Exception;
+    }
+}
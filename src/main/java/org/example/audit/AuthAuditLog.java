@@ -0,0 +1,181 @@
+package org.example.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.AuditProperties;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Authentication audit pipeline: request threads publish events into {@link AuditRing},
+ * background writer drains them in batches to rolling file. Request threads never wait for I/O,
+ * events over buffer capacity dropped and counted.
+ */
+@Slf4j
+@Component
+public class AuthAuditLog {
+    private static final int OTHER_PATH = 0;
+
+    private final AuditProperties properties;
+    private final AuditRing ring;
+    private final Map<String, Integer> pathIds = new ConcurrentHashMap<>();
+    private final String[] paths;
+    private final AtomicInteger nextPathId = new AtomicInteger(OTHER_PATH + 1);
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final StringBuilder line = new StringBuilder(128);
+    private volatile boolean running;
+    private Thread writerThread;
+    private Writer writer;
+    private long fileSize;
+
+    public AuthAuditLog(AuditProperties properties) {
+        this.properties = properties;
+        this.ring = properties.isEnabled() ? new AuditRing(properties.getBufferSize()) : null;
+        this.paths = new String[properties.getMaxPaths() + 1];
+        this.paths[OTHER_PATH] = "<other>";
+    }
+
+    public boolean isEnabled() {
+        return ring != null;
+    }
+
+    /**
+     * Publish event without blocking.
+     *
+     * @param subject      token subject, {@code null} for anonymous
+     * @param outcome      request outcome
+     * @param path         request path
+     * @param latencyNanos request processing time
+     */
+    public void publish(String subject, AuditOutcome outcome, String path, long latencyNanos) {
+        if (ring == null)
+            return;
+        if (!ring.offer(System.currentTimeMillis(), subject, outcome, getPathId(path), latencyNanos))
+            dropped.increment();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (ring == null)
+            return;
+        openFile();
+        running = true;
+        writerThread = new Thread(this::writeLoop, "auth-audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writerThread == null)
+            return;
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(properties.getIdleWait().toMillis() * 10 + 1000);
+    }
+
+    private int getPathId(String path) {
+        final Integer id = pathIds.get(path);
+        if (id != null)
+            return id;
+        if (nextPathId.get() >= paths.length)
+            return OTHER_PATH;
+        return pathIds.computeIfAbsent(path, p -> {
+            final int created = nextPathId.getAndIncrement();
+            if (created >= paths.length)
+                return OTHER_PATH;
+            paths[created] = p;
+            return created;
+        });
+    }
+
+    private void writeLoop() {
+        final long idleNanos = properties.getIdleWait().toNanos();
+        boolean dirty = false;
+        while (true) {
+            try {
+                final int drained = ring.drain(this::writeEvent, properties.getBatchSize());
+                if (drained > 0) {
+                    dirty = true;
+                    written.add(drained);
+                    continue;
+                }
+                if (dirty) {
+                    writer.flush();
+                    dirty = false;
+                }
+                if (!running)
+                    break;
+                LockSupport.parkNanos(idleNanos);
+            } catch (Exception e) {
+                log.warn("Auth audit write failed: {}", e.toString());
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Can't close auth audit file: {}", e.toString());
+        }
+    }
+
+    private void writeEvent(int slot) throws IOException {
+        line.setLength(0);
+        line.append(Instant.ofEpochMilli(ring.timestamps[slot])).append(' ')
+                .append(ring.subjects[slot] == null ? "-" : ring.subjects[slot]).append(' ')
+                .append(AuditOutcome.ofOrdinal(ring.outcomes[slot])).append(' ')
+                .append(paths[ring.pathIds[slot]]).append(' ')
+                .append(ring.latencies[slot] / 1000).append("us\n");
+        if (fileSize + line.length() > properties.getMaxFileSize().toBytes())
+            rollFile();
+        writer.append(line);
+        fileSize += line.length();
+    }
+
+    private void openFile() throws IOException {
+        final Path file = Path.of(properties.getFile());
+        if (file.toAbsolutePath().getParent() != null)
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        fileSize = Files.exists(file) ? Files.size(file) : 0;
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void rollFile() throws IOException {
+        writer.close();
+        final String file = properties.getFile();
+        Files.deleteIfExists(Path.of(file + "." + (properties.getMaxFiles() - 1)));
+        for (int i = properties.getMaxFiles() - 2; i >= 1; i--) {
+            final Path source = Path.of(file + "." + i);
+            if (Files.exists(source))
+                Files.move(source, Path.of(file + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+        }
+        if (properties.getMaxFiles() > 1)
+            Files.move(Path.of(file), Path.of(file + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        else
+            Files.deleteIfExists(Path.of(file));
+        openFile();
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.authorization;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.AuthorizationProperties;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Request authorization by path rules compiled to {@link PathRuleTrie} of {@link RoleRule}. Requests without
+ * matching rule require authentication. Permitted paths don't resolve authentication at all.
+ */
+@Slf4j
+public class PathAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final PathRuleTrie<RoleRule> rules = new PathRuleTrie<>();
+    private final RoleRegistry roleRegistry;
+
+    /**
+     * @throws IllegalStateException when rule is not supported or overlaps another one
+     */
+    public PathAuthorizationManager(List<AuthorizationProperties.PathRule> pathRules, RoleRegistry roleRegistry) {
+        this.roleRegistry = roleRegistry;
+        final RoleRuleParser parser = new RoleRuleParser(roleRegistry);
+        for (AuthorizationProperties.PathRule pathRule : pathRules) {
+            final String source = (pathRule.getMethod() == null ? "" : pathRule.getMethod() + " ") + pathRule.getPath() + " " + pathRule.getAccess();
+            try {
+                rules.add(pathRule.getMethod(), pathRule.getPath(), parser.parse(pathRule.getAccess()), source);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Can't compile path authorization rule " + source, e);
+            }
+        }
+        log.info("Compiled {} path authorization rules", rules.size());
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        final RoleRule rule = getRule(context.getRequest());
+        if (rule.permitAll())
+            return GRANTED;
+        final Authentication current = authentication.get();
+        final boolean authenticated = current != null && current.isAuthenticated() && !(current instanceof AnonymousAuthenticationToken);
+        return rule.isGranted(authenticated, authenticated ? roleRegistry.maskOf(current) : 0) ? GRANTED : DENIED;
+    }
+
+    public RoleRule getRule(HttpServletRequest request) {
+        return getRule(request.getMethod(), UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+    }
+
+    public RoleRule getRule(String method, String path) {
+        final RoleRule rule = rules.resolve(method, path);
+        return rule == null ? RoleRule.AUTHENTICATED : rule;
+    }
+}
@@ -0,0 +1,157 @@
+package org.example.authorization;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Path rules compiled to segment trie. Pattern segments are literals, {@code *} or {@code {name}} (one segment)
+ * and trailing {@code **} (zero or more segments). Resolution walks path segments preferring literal over
+ * single-segment wildcard over {@code **} at each level, so result does not depend on declaration order.
+ * Method-specific rules are resolved first and win over any-method rules of any depth: {@code OPTIONS /**} still
+ * applies under {@code /api/admin/**}. Empty segments ({@code //}, trailing {@code /}) are skipped.
+ * <p>
+ * Rules for same pattern shape and method can't be ordered by specificity, {@link #add} rejects them.
+ */
+public class PathRuleTrie<T> {
+    private static final String SINGLE_WILDCARD = "*";
+    private static final String MULTI_WILDCARD = "**";
+    private static final HttpMethod[] METHODS = HttpMethod.values();
+    private static final int ANY_METHOD = -1;
+
+    private final Node<T> root = new Node<>();
+    private boolean methodRules;
+    private int size;
+
+    /**
+     * @param method  request method, any if {@code null}
+     * @param pattern path pattern
+     * @param value   value resolved for matching requests
+     * @param source  rule description for overlap errors
+     *
+     * @throws IllegalArgumentException when pattern is not supported
+     * @throws IllegalStateException    when rule with same pattern shape and method already added
+     */
+    public void add(HttpMethod method, String pattern, T value, String source) {
+        final String[] segments = split(pattern);
+        Node<T> node = root;
+        for (int i = 0; i < segments.length; i++) {
+            final String segment = segments[i];
+            if (MULTI_WILDCARD.equals(segment)) {
+                if (i != segments.length - 1)
+                    throw new IllegalArgumentException("'**' supported only as last segment: " + pattern);
+                node = node.tail == null ? node.tail = new Node<>() : node.tail;
+            } else if (isSingleWildcard(segment)) {
+                node = node.wildcard == null ? node.wildcard = new Node<>() : node.wildcard;
+            } else {
+                if (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0)
+                    throw new IllegalArgumentException("Partial segment wildcards not supported: " + pattern);
+                node = node.children.computeIfAbsent(segment, key -> new Node<>());
+            }
+        }
+        node.put(method, value, source);
+        methodRules |= method != null;
+        size++;
+    }
+
+    /**
+     * @param method request method
+     * @param path   path within application
+     *
+     * @return       value of most specific matching rule for request method, else of most specific any-method
+     *               rule, {@code null} if none
+     */
+    public T resolve(String method, String path) {
+        final String[] segments = split(path);
+        final HttpMethod httpMethod = methodRules ? HttpMethod.resolve(method) : null;
+        if (httpMethod != null) {
+            final T value = resolve(root, segments, 0, httpMethod.ordinal());
+            if (value != null)
+                return value;
+        }
+        return resolve(root, segments, 0, ANY_METHOD);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private T resolve(Node<T> node, String[] segments, int index, int method) {
+        if (index == segments.length) {
+            final T exact = node.get(method);
+            return exact != null ? exact : node.tail == null ? null : node.tail.get(method);
+        }
+        final Node<T> child = node.children.get(segments[index]);
+        if (child != null) {
+            final T value = resolve(child, segments, index + 1, method);
+            if (value != null)
+                return value;
+        }
+        if (node.wildcard != null) {
+            final T value = resolve(node.wildcard, segments, index + 1, method);
+            if (value != null)
+                return value;
+        }
+        return node.tail == null ? null : node.tail.get(method);
+    }
+
+    private static boolean isSingleWildcard(String segment) {
+        return SINGLE_WILDCARD.equals(segment)
+                || (segment.length() > 2 && segment.charAt(0) == '{' && segment.charAt(segment.length() - 1) == '}');
+    }
+
+    private static String[] split(String path) {
+        final List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i <= path.length(); i++) {
+            if (i == path.length() || path.charAt(i) == '/') {
+                if (i > start)
+                    segments.add(path.substring(start, i));
+                start = i + 1;
+            }
+        }
+        return segments.toArray(String[]::new);
+    }
+
+    private static final class Node<T> {
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private Node<T> wildcard;
+        private Node<T> tail;
+        private T anyMethod;
+        private String anyMethodSource;
+        private Object[] byMethod;
+        private String[] byMethodSources;
+
+        /**
+         * @param method method ordinal or {@link #ANY_METHOD}
+         */
+        @SuppressWarnings("unchecked")
+        T get(int method) {
+            if (method == ANY_METHOD)
+                return anyMethod;
+            return byMethod == null ? null : (T) byMethod[method];
+        }
+
+        void put(HttpMethod method, T value, String source) {
+            if (method == null) {
+                if (anyMethod != null)
+                    throw new IllegalStateException("Overlapping authorization rules: " + anyMethodSource + " and " + source);
+                anyMethod = value;
+                anyMethodSource = source;
+                return;
+            }
+            if (byMethod == null) {
+                byMethod = new Object[METHODS.length];
+                byMethodSources = new String[METHODS.length];
+            }
+            final int i = method.ordinal();
+            if (byMethod[i] != null)
+                throw new IllegalStateException("Overlapping authorization rules: " + byMethodSources[i] + " and " + source);
+            byMethod[i] = value;
+            byMethodSources[i] = source;
+        }
+    }
+}
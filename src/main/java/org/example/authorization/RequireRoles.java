@@ -0,0 +1,23 @@
+package org.example.authorization;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Roles required for handler method (or all methods of controller) in bitset authorization mode.
+ * Role names are without {@code ROLE_} prefix, like in {@code hasRole(..)}.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequireRoles {
+    String[] value();
+
+    /**
+     * Require all roles instead of any of them.
+     */
+    boolean all() default false;
+}
@@ -0,0 +1,75 @@
+package org.example.authorization;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bitset authorization for handler methods. Rules from {@link RequireRoles} and simple {@link PreAuthorize}
+ * expressions compiled once at startup, per request check is map lookup and a few bit operations.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RoleBitsetInterceptor implements HandlerInterceptor {
+    private final RoleRuleParser roleRuleParser;
+    private final RoleRegistry roleRegistry;
+    private volatile Map<Method, RoleRule> rules = Map.of();
+
+    /**
+     * Compile rules of all handler methods.
+     *
+     * @param handlerMethods registered handler methods
+     *
+     * @throws IllegalStateException when rule expression not supported
+     */
+    public void compile(Collection<HandlerMethod> handlerMethods) {
+        final Map<Method, RoleRule> compiled = new HashMap<>();
+        for (HandlerMethod handlerMethod : handlerMethods) {
+            final RoleRule rule = compile(handlerMethod);
+            if (rule != null)
+                compiled.put(handlerMethod.getMethod(), rule);
+        }
+        log.info("Compiled {} handler authorization rules", compiled.size());
+        rules = Map.copyOf(compiled);
+    }
+
+    public RoleRule getRule(Method method) {
+        return rules.get(method);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod))
+            return true;
+        final RoleRule rule = rules.get(handlerMethod.getMethod());
+        if (rule == null || rule.permitAll())
+            return true;
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        final boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+        if (!rule.isGranted(authenticated, authenticated ? roleRegistry.maskOf(authentication) : 0))
+            throw new AccessDeniedException("Access is denied");
+        return true;
+    }
+
+    private RoleRule compile(HandlerMethod handlerMethod) {
+        try {
+            return roleRuleParser.parse(handlerMethod);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Can't compile authorization rule of " + handlerMethod.getMethod(), e);
+        }
+    }
+}
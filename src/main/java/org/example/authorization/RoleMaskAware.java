@@ -0,0 +1,8 @@
+package org.example.authorization;
+
+/**
+ * Authentication with precomputed bitmask of roles registered in {@link RoleRegistry}.
+ */
+public interface RoleMaskAware {
+    long getRoleMask();
+}
@@ -0,0 +1,56 @@
+package org.example.authorization;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Assigns bit ids to authorities used by authorization rules. Only roles referenced by rules
+ * get ids, so 64 bits are enough for realistic rule sets.
+ * Registration happens at startup, lookups are lock-free.
+ */
+@Component
+public class RoleRegistry {
+    public static final int MAX_ROLES = Long.SIZE;
+
+    private volatile Map<String, Long> bits = Map.of();
+
+    /**
+     * @param authority full authority name, e.g. {@code ROLE_ADMIN}
+     *
+     * @return          bit assigned to authority
+     */
+    public synchronized long register(String authority) {
+        final Long bit = bits.get(authority);
+        if (bit != null)
+            return bit;
+        if (bits.size() >= MAX_ROLES)
+            throw new IllegalStateException("Too many roles in authorization rules, max: " + MAX_ROLES + ", rejected: " + authority);
+        final Map<String, Long> copy = new HashMap<>(bits);
+        final long created = 1L << bits.size();
+        copy.put(authority, created);
+        bits = Map.copyOf(copy);
+        return created;
+    }
+
+    public long maskOf(Collection<? extends GrantedAuthority> authorities) {
+        final Map<String, Long> current = bits;
+        long mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            final Long bit = current.get(authority.getAuthority());
+            if (bit != null)
+                mask |= bit;
+        }
+        return mask;
+    }
+
+    public long maskOf(Authentication authentication) {
+        if (authentication instanceof RoleMaskAware roleMaskAware)
+            return roleMaskAware.getRoleMask();
+        return maskOf(authentication.getAuthorities());
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.authorization;
+
+/**
+ * Compiled authorization rule: granted when authentication has any role of {@code anyOf}
+ * (or {@code anyOf} is empty) and all roles of {@code allOf}.
+ *
+ * @param anyOf     mask of roles where one is enough
+ * @param allOf     mask of roles all required
+ * @param permitAll rule allows anonymous access
+ */
+public record RoleRule(long anyOf, long allOf, boolean permitAll) {
+    public static final RoleRule PERMIT_ALL = new RoleRule(0, 0, true);
+    public static final RoleRule AUTHENTICATED = new RoleRule(0, 0, false);
+
+    public boolean isGranted(boolean authenticated, long roleMask) {
+        if (permitAll)
+            return true;
+        return authenticated
+                && (anyOf == 0 || (roleMask & anyOf) != 0)
+                && (roleMask & allOf) == allOf;
+    }
+}
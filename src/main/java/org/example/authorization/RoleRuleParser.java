@@ -0,0 +1,116 @@
+package org.example.authorization;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles simple {@code @PreAuthorize} expressions to {@link RoleRule}: {@code hasRole}, {@code hasAnyRole},
+ * {@code hasAuthority}, {@code hasAnyAuthority} joined by only {@code and} or only {@code or},
+ * {@code permitAll} and {@code isAuthenticated()}. In {@code and} at most one term may list several roles,
+ * it becomes any-of group of rule.
+ */
+public class RoleRuleParser {
+    public static final String ROLE_PREFIX = "ROLE_";
+
+    private static final Pattern TERM = Pattern.compile("\\s*(hasRole|hasAnyRole|hasAuthority|hasAnyAuthority)\\s*\\(([^)]*)\\)\\s*");
+    private static final Pattern AND = Pattern.compile("\\s+and\\s+|\\s*&&\\s*");
+    private static final Pattern OR = Pattern.compile("\\s+or\\s+|\\s*\\|\\|\\s*");
+
+    private final RoleRegistry roleRegistry;
+
+    public RoleRuleParser(RoleRegistry roleRegistry) {
+        this.roleRegistry = roleRegistry;
+    }
+
+    /**
+     * @param expression SpEL expression from {@code @PreAuthorize}
+     *
+     * @return           compiled rule
+     *
+     * @throws IllegalArgumentException when expression is not supported
+     */
+    public RoleRule parse(String expression) {
+        final String trimmed = expression.trim();
+        if ("permitAll".equals(trimmed) || "permitAll()".equals(trimmed))
+            return RoleRule.PERMIT_ALL;
+        if ("isAuthenticated()".equals(trimmed) || "isFullyAuthenticated()".equals(trimmed))
+            return RoleRule.AUTHENTICATED;
+
+        final boolean and = AND.matcher(trimmed).find();
+        final boolean or = OR.matcher(trimmed).find();
+        if (and && or)
+            throw new IllegalArgumentException("Mixed and/or not supported: " + expression);
+
+        long anyOf = 0;
+        long allOf = 0;
+        for (String term : (and ? AND : OR).split(trimmed)) {
+            final Matcher matcher = TERM.matcher(term);
+            if (!matcher.matches())
+                throw new IllegalArgumentException("Unsupported expression: " + expression);
+            final boolean isRole = matcher.group(1).endsWith("Role");
+            final String[] args = matcher.group(2).split(",");
+            long mask = 0;
+            for (String arg : args) {
+                final String name = unquote(arg, expression);
+                mask |= roleRegistry.register(isRole && !name.startsWith(ROLE_PREFIX) ? ROLE_PREFIX + name : name);
+            }
+            if (!and) {
+                anyOf |= mask;
+            } else if (args.length == 1) {
+                allOf |= mask;
+            } else {
+                // rule has single any-of group, (A or B) and (C or D) can't be expressed
+                if (anyOf != 0)
+                    throw new IllegalArgumentException("Only one multi-role term supported in 'and': " + expression);
+                anyOf = mask;
+            }
+        }
+        return new RoleRule(anyOf, allOf, false);
+    }
+
+    /**
+     * @param handlerMethod handler with {@link RequireRoles} or {@link PreAuthorize} on method or class
+     *
+     * @return              compiled rule, {@code null} when handler has no rule
+     *
+     * @throws IllegalArgumentException when expression is not supported
+     */
+    public RoleRule parse(HandlerMethod handlerMethod) {
+        final Method method = handlerMethod.getMethod();
+        RequireRoles requireRoles = AnnotatedElementUtils.findMergedAnnotation(method, RequireRoles.class);
+        if (requireRoles == null)
+            requireRoles = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), RequireRoles.class);
+        if (requireRoles != null)
+            return compile(requireRoles.value(), requireRoles.all());
+
+        PreAuthorize preAuthorize = AnnotatedElementUtils.findMergedAnnotation(method, PreAuthorize.class);
+        if (preAuthorize == null)
+            preAuthorize = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), PreAuthorize.class);
+        return preAuthorize == null ? null : parse(preAuthorize.value());
+    }
+
+    /**
+     * @param roles role names without prefix
+     * @param all   require all roles
+     *
+     * @return      compiled rule
+     */
+    public RoleRule compile(String[] roles, boolean all) {
+        long mask = 0;
+        for (String role : roles)
+            mask |= roleRegistry.register(role.startsWith(ROLE_PREFIX) ? role : ROLE_PREFIX + role);
+        return all ? new RoleRule(0, mask, false) : new RoleRule(mask, 0, false);
+    }
+
+    private static String unquote(String arg, String expression) {
+        final String value = arg.trim();
+        if (value.length() < 2 || value.charAt(0) != '\'' || value.charAt(value.length() - 1) != '\'')
+            throw new IllegalArgumentException("Only quoted literals supported: " + expression);
+        return value.substring(1, value.length() - 1);
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.audit.AuditOutcome;
+import org.example.audit.AuthAuditLog;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Publishes one {@link AuthAuditLog} event per request with subject, outcome by response status and latency.
+ */
+@RequiredArgsConstructor
+public class AuthAuditFilter extends OncePerRequestFilter {
+    private final AuthAuditLog authAuditLog;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !authAuditLog.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        final long started = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            authAuditLog.publish(getSubject(SecurityContextHolder.getContext().getAuthentication()),
+                    failed ? AuditOutcome.SERVER_ERROR : AuditOutcome.ofStatus(response.getStatus()),
+                    request.getRequestURI(), System.nanoTime() - started);
+        }
+    }
+
+    private static String getSubject(Authentication authentication) {
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken)
+            return null;
+        if (authentication.getPrincipal() instanceof KeycloakPrincipal principal)
+            return principal.getSubject();
+        return authentication.getPrincipal() instanceof Jwt jwt ? jwt.getSubject() : authentication.getName();
+    }
+}
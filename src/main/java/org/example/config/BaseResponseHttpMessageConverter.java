@@ -0,0 +1,44 @@
+package org.example.config;
+
+import org.example.dto.BaseResponse;
+import org.example.util.BaseResponseWriter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Write-only converter for {@link BaseResponse} bodies through {@link BaseResponseWriter}.
+ */
+public class BaseResponseHttpMessageConverter extends AbstractHttpMessageConverter<BaseResponse<?>> {
+    private final BaseResponseWriter baseResponseWriter;
+
+    public BaseResponseHttpMessageConverter(BaseResponseWriter baseResponseWriter) {
+        super(MediaType.APPLICATION_JSON);
+        this.baseResponseWriter = baseResponseWriter;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return BaseResponse.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected BaseResponse<?> readInternal(Class<? extends BaseResponse<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("BaseResponse reading not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(BaseResponse<?> body, HttpOutputMessage outputMessage) throws IOException {
+        baseResponseWriter.write(outputMessage.getBody(), body);
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.config;
+
+import org.example.authorization.RoleBitsetInterceptor;
+import org.example.authorization.RoleRegistry;
+import org.example.authorization.RoleRuleParser;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Bitset authorization mode: handler rules compiled before web server starts accepting requests.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "keycloak.authorization", name = "mode", havingValue = "bitset")
+public class BitsetAuthorizationConfig implements WebMvcConfigurer {
+    private final RoleBitsetInterceptor roleBitsetInterceptor;
+
+    public BitsetAuthorizationConfig(RoleRegistry roleRegistry) {
+        this.roleBitsetInterceptor = new RoleBitsetInterceptor(new RoleRuleParser(roleRegistry), roleRegistry);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(roleBitsetInterceptor);
+    }
+
+    @Bean
+    public RoleBitsetInterceptor roleBitsetInterceptor() {
+        return roleBitsetInterceptor;
+    }
+
+    @Bean
+    public SmartInitializingSingleton roleBitsetRulesCompiler(ApplicationContext context) {
+        return () -> roleBitsetInterceptor.compile(
+                context.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class).getHandlerMethods().values());
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.config;
+
+import org.example.util.TokenCache;
+import org.example.util.TokenKey;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.time.Clock;
+
+/**
+ * {@link JwtDecoder} which remembers already verified tokens until their {@code exp} claim,
+ * so repeated bearer tokens skip parsing and signature verification.
+ * Tokens without {@code exp} are never cached.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+    private final JwtDecoder delegate;
+    private final TokenCache<TokenKey, Jwt> cache;
+    private final Clock clock;
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxSize) {
+        this(delegate, maxSize, Clock.systemUTC());
+    }
+
+    public CachingJwtDecoder(JwtDecoder delegate, int maxSize, Clock clock) {
+        this.delegate = delegate;
+        this.cache = new TokenCache<>(maxSize);
+        this.clock = clock;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        final TokenKey key = TokenKey.of(token);
+        final long now = clock.millis();
+        Jwt jwt = cache.get(key, now);
+        if (jwt != null)
+            return jwt;
+        jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null)
+            cache.put(key, jwt, jwt.getExpiresAt().toEpochMilli(), now);
+        return jwt;
+    }
+
+    public TokenCache<TokenKey, Jwt> getCache() {
+        return cache;
+    }
+}
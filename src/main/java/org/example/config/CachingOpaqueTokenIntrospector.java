@@ -0,0 +1,120 @@
+package org.example.config;
+
+import org.example.util.TokenCache;
+import org.example.util.TokenKey;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.core.OAuth2TokenIntrospectionClaimNames;
+import org.springframework.security.oauth2.server.resource.introspection.BadOpaqueTokenException;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link OpaqueTokenIntrospector} which remembers active tokens until their {@code exp} and inactive ones
+ * for short negative TTL. Concurrent lookups of same uncached token share one call to delegate.
+ * Active tokens without {@code exp} and introspection failures (endpoint unavailable) are never cached.
+ */
+public class CachingOpaqueTokenIntrospector implements OpaqueTokenIntrospector {
+    private final OpaqueTokenIntrospector delegate;
+    private final TokenCache<TokenKey, Result> cache;
+    private final Map<TokenKey, CompletableFuture<Result>> inFlight = new ConcurrentHashMap<>();
+    private final long negativeTtlMillis;
+    private final Clock clock;
+
+    public CachingOpaqueTokenIntrospector(OpaqueTokenIntrospector delegate, int maxSize, Duration negativeTtl) {
+        this(delegate, maxSize, negativeTtl, Clock.systemUTC());
+    }
+
+    public CachingOpaqueTokenIntrospector(OpaqueTokenIntrospector delegate, int maxSize, Duration negativeTtl, Clock clock) {
+        this.delegate = delegate;
+        this.cache = new TokenCache<>(maxSize);
+        this.negativeTtlMillis = negativeTtl.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    public OAuth2AuthenticatedPrincipal introspect(String token) {
+        final TokenKey key = TokenKey.of(token);
+        final Result cached = cache.get(key, clock.millis());
+        return (cached != null ? cached : load(key, token)).get();
+    }
+
+    public TokenCache<TokenKey, Result> getCache() {
+        return cache;
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private Result load(TokenKey key, String token) {
+        final CompletableFuture<Result> created = new CompletableFuture<>();
+        final CompletableFuture<Result> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null)
+            return join(existing);
+        try {
+            // result could be stored by previous leader between cache miss and registration
+            Result result = cache.get(key, clock.millis());
+            if (result == null) {
+                result = call(token);
+                store(key, result);
+            }
+            created.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private Result call(String token) {
+        try {
+            return new Result(delegate.introspect(token), null);
+        } catch (BadOpaqueTokenException e) {
+            return new Result(null, e.getMessage());
+        }
+    }
+
+    private void store(TokenKey key, Result result) {
+        final long now = clock.millis();
+        if (result.principal() == null) {
+            if (negativeTtlMillis > 0)
+                cache.put(key, result, now + negativeTtlMillis, now);
+            return;
+        }
+        final Object expiresAt = result.principal().getAttribute(OAuth2TokenIntrospectionClaimNames.EXP);
+        if (expiresAt instanceof Instant instant)
+            cache.put(key, result, instant.toEpochMilli(), now);
+        else if (expiresAt instanceof Number seconds)
+            cache.put(key, result, seconds.longValue() * 1000, now);
+    }
+
+    private static Result join(CompletableFuture<Result> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Introspection outcome: active principal or inactive token message.
+     */
+    public record Result(OAuth2AuthenticatedPrincipal principal, String inactiveMessage) {
+        OAuth2AuthenticatedPrincipal get() {
+            if (principal == null)
+                throw new BadOpaqueTokenException(inactiveMessage);
+            return principal;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package org.example.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.util.Base64URL;
+import org.example.util.LazyJson;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * {@link JwtDecoder} for tokens signed by keys of {@link JwksKeyStore}, parsing compact JWS without Nimbus
+ * object model. Segments found by dot positions; signing input copied from token chars, signature and payload
+ * base64url-decoded into thread-local buffers. Signature verified by thread-local {@link Signature} and claims
+ * read by {@link LazyJson} straight from decoded payload bytes: nested claims ({@code realm_access},
+ * {@code resource_access}, {@code groups}) kept raw and parsed on first access. Parsed header and its keys kept per thread while tokens
+ * carry same header segment. RSA PKCS#1 signatures only; other algorithms, unknown {@code kid}, critical
+ * headers and non-JWS tokens handed to Nimbus decoder of same store, which also refreshes keys.
+ */
+public class CompactJwtDecoder implements JwtDecoder {
+    private static final String DECODING_ERROR = "An error occurred while attempting to decode the Jwt: %s";
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+    private static final Map<JWSAlgorithm, String> SIGNATURE_ALGORITHMS = Map.of(
+            JWSAlgorithm.RS256, "SHA256withRSA",
+            JWSAlgorithm.RS384, "SHA384withRSA",
+            JWSAlgorithm.RS512, "SHA512withRSA");
+    private static final Set<String> EAGER_CLAIMS = Set.of(JwtClaimNames.AUD);
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    private final JwksKeyStore keyStore;
+    private final Set<JWSAlgorithm> algorithms;
+    private final OAuth2TokenValidator<Jwt> validator;
+    private final NimbusJwtDecoder fallback;
+    private final Converter<Map<String, Object>, Map<String, Object>> claimSetConverter = MappedJwtClaimSetConverter.withDefaults(Collections.emptyMap());
+
+    /**
+     * @param keyStore   verification keys
+     * @param algorithms accepted {@code alg} values
+     * @param validator  claims validator, also used by fallback decoder
+     */
+    public CompactJwtDecoder(JwksKeyStore keyStore, Collection<String> algorithms, OAuth2TokenValidator<Jwt> validator) {
+        this.keyStore = keyStore;
+        this.algorithms = algorithms.stream().map(JWSAlgorithm::parse).collect(Collectors.toUnmodifiableSet());
+        this.validator = validator;
+        this.fallback = new NimbusJwtDecoder(keyStore.createProcessor());
+        this.fallback.setJwtValidator(validator);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        final int headerEnd = token.indexOf('.');
+        final int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0)
+            return fallback.decode(token);
+
+        final Buffers buffers = BUFFERS.get();
+        final Header header = getHeader(buffers, token, headerEnd);
+        if (header == null)
+            return fallback.decode(token);
+
+        if (!verify(buffers, header, token, payloadEnd))
+            throw new BadJwtException(String.format(DECODING_ERROR, "Signed JWT rejected: Invalid signature"));
+
+        final byte[] payload = buffers.get(Buffers.PAYLOAD, decodedLength(payloadEnd - headerEnd - 1));
+        final int payloadLength = decode(token, headerEnd + 1, payloadEnd, payload);
+        if (payloadLength < 0)
+            throw new BadJwtException(String.format(DECODING_ERROR, "Malformed payload"));
+        final Map<String, Object> claims;
+        try {
+            claims = claimSetConverter.convert(LazyJson.readObject(payload, payloadLength, EAGER_CLAIMS));
+        } catch (IOException | ConversionException | IllegalArgumentException e) {
+            throw new BadJwtException(String.format(DECODING_ERROR, "Malformed payload"), e);
+        }
+        final Jwt jwt;
+        try {
+            jwt = Jwt.withTokenValue(token)
+                    .headers(headers -> headers.putAll(header.headers))
+                    .claims(values -> values.putAll(claims))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new BadJwtException(String.format(DECODING_ERROR, e.getMessage()), e);
+        }
+        final OAuth2TokenValidatorResult result = validator.validate(jwt);
+        if (result.hasErrors()) {
+            final Collection<OAuth2Error> errors = result.getErrors();
+            throw new JwtValidationException(String.format(DECODING_ERROR, errors.iterator().next().getDescription()), errors);
+        }
+        return jwt;
+    }
+
+    /**
+     * @return header with resolved keys, {@code null} if token should go to fallback decoder
+     */
+    private Header getHeader(Buffers buffers, String token, int headerEnd) {
+        final Header cached = buffers.header;
+        if (cached != null && cached.jwkSet == keyStore.getJwkSet() && cached.matches(token, headerEnd))
+            return cached;
+        final Header header = parseHeader(token.substring(0, headerEnd));
+        if (header != null)
+            buffers.header = header;
+        return header;
+    }
+
+    private Header parseHeader(String segment) {
+        final JWKSet jwkSet = keyStore.getJwkSet();
+        final JWSHeader header;
+        try {
+            header = JWSHeader.parse(new Base64URL(segment));
+        } catch (ParseException e) {
+            return null;
+        }
+        final String signatureAlgorithm = SIGNATURE_ALGORITHMS.get(header.getAlgorithm());
+        if (signatureAlgorithm == null || !algorithms.contains(header.getAlgorithm()) || header.getCriticalParams() != null
+                || (header.getType() != null && !JOSEObjectType.JWT.equals(header.getType())))
+            return null;
+        final List<PublicKey> keys = new ArrayList<>(1);
+        try {
+            for (JWK jwk : new JWKSelector(JWKMatcher.forJWSHeader(header)).select(jwkSet)) {
+                if (jwk instanceof RSAKey rsaKey)
+                    keys.add(rsaKey.toRSAPublicKey());
+            }
+        } catch (JOSEException e) {
+            throw new JwtException(String.format(DECODING_ERROR, e.getMessage()), e);
+        }
+        if (keys.isEmpty())
+            return null;
+        return new Header(segment, jwkSet, Collections.unmodifiableMap(header.toJSONObject()), signatureAlgorithm, List.copyOf(keys));
+    }
+
+    private static boolean verify(Buffers buffers, Header header, String token, int payloadEnd) {
+        final byte[] signature = buffers.get(Buffers.SIGNATURE, decodedLength(token.length() - payloadEnd - 1));
+        final int signatureLength = decode(token, payloadEnd + 1, token.length(), signature);
+        if (signatureLength <= 0)
+            return false;
+        final byte[] input = buffers.get(Buffers.INPUT, payloadEnd);
+        // same bytes as US-ASCII encoding, non-ASCII chars as '?'
+        for (int i = 0; i < payloadEnd; i++) {
+            final char c = token.charAt(i);
+            input[i] = c < 0x80 ? (byte) c : (byte) '?';
+        }
+        for (PublicKey key : header.keys) {
+            final Verifier verifier = buffers.verifier(header.signatureAlgorithm);
+            try {
+                verifier.init(key);
+                verifier.signature.update(input, 0, payloadEnd);
+                if (verifier.signature.verify(signature, 0, signatureLength))
+                    return true;
+            } catch (SignatureException e) {
+                verifier.key = null;
+            } catch (GeneralSecurityException e) {
+                verifier.key = null;
+                throw new JwtException(String.format(DECODING_ERROR, e.getMessage()), e);
+            }
+        }
+        return false;
+    }
+
+    private static int decodedLength(int chars) {
+        return chars * 3 / 4;
+    }
+
+    /**
+     * @return decoded length, {@code -1} if not unpadded base64url
+     */
+    private static int decode(String src, int from, int to, byte[] dst) {
+        int length = 0;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            final int value = base64UrlValue(src.charAt(i));
+            if (value < 0)
+                return -1;
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                dst[length++] = (byte) (bits >> bitCount);
+            }
+        }
+        // single char of last quantum can't encode a byte
+        return bitCount == 6 ? -1 : length;
+    }
+
+    private static int base64UrlValue(char c) {
+        if (c >= 'A' && c <= 'Z')
+            return c - 'A';
+        if (c >= 'a' && c <= 'z')
+            return c - 'a' + 26;
+        if (c >= '0' && c <= '9')
+            return c - '0' + 52;
+        if (c == '-')
+            return 62;
+        if (c == '_')
+            return 63;
+        return -1;
+    }
+
+    private record Header(String segment, JWKSet jwkSet, Map<String, Object> headers, String signatureAlgorithm, List<PublicKey> keys) {
+        boolean matches(String token, int headerEnd) {
+            return segment.length() == headerEnd && token.startsWith(segment);
+        }
+    }
+
+    private static final class Verifier {
+        private final Signature signature;
+        private PublicKey key;
+
+        Verifier(String algorithm) {
+            try {
+                signature = Signature.getInstance(algorithm);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(algorithm + " not supported", e);
+            }
+        }
+
+        void init(PublicKey publicKey) throws GeneralSecurityException {
+            // verify resets signature to initialized state, so same key needs no new init
+            if (key != publicKey) {
+                key = null;
+                signature.initVerify(publicKey);
+                key = publicKey;
+            }
+        }
+    }
+
+    private static final class Buffers {
+        private static final int INPUT = 0;
+        private static final int SIGNATURE = 1;
+        private static final int PAYLOAD = 2;
+
+        private final Map<String, Verifier> verifiers = new HashMap<>(4);
+        private final byte[][] bytes = {new byte[2048], new byte[512], new byte[2048]};
+        private Header header;
+
+        Verifier verifier(String algorithm) {
+            return verifiers.computeIfAbsent(algorithm, Verifier::new);
+        }
+
+        byte[] get(int kind, int length) {
+            if (bytes[kind].length >= length)
+                return bytes[kind];
+            final byte[] grown = new byte[length];
+            if (length <= MAX_RETAINED_BUFFER)
+                bytes[kind] = grown;
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.properties.CorsProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+
+/**
+ * CORS policy from {@link CorsProperties}: preflights short-circuited by {@link PreflightFilter} registered first in
+ * servlet filter chain, actual requests get headers from {@code .cors()} of security chain with same configuration.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "keycloak.cors", name = "enabled", havingValue = "true")
+public class CorsConfig {
+    private final CorsProperties corsProperties;
+
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        final UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration());
+        return source;
+    }
+
+    @Bean
+    public FilterRegistrationBean<PreflightFilter> preflightFilter() {
+        final FilterRegistrationBean<PreflightFilter> registration = new FilterRegistrationBean<>(
+                new PreflightFilter(corsConfiguration(), corsProperties.getPreflightCacheSize()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private CorsConfiguration corsConfiguration() {
+        final CorsConfiguration configuration = new CorsConfiguration();
+        configuration.setAllowedOrigins(corsProperties.getAllowedOrigins());
+        configuration.setAllowedOriginPatterns(corsProperties.getAllowedOriginPatterns());
+        configuration.setAllowedMethods(corsProperties.getAllowedMethods());
+        configuration.setAllowedHeaders(corsProperties.getAllowedHeaders());
+        configuration.setExposedHeaders(corsProperties.getExposedHeaders());
+        configuration.setAllowCredentials(corsProperties.isAllowCredentials());
+        configuration.setMaxAge(corsProperties.getMaxAge());
+        // fails on '*' origin with credentials at startup instead of first request
+        configuration.validateAllowCredentials();
+        return configuration;
+    }
+}
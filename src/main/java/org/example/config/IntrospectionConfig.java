@@ -0,0 +1,46 @@
+package org.example.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.properties.IntrospectionProperties;
+import org.example.metrics.AuthMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import org.springframework.security.oauth2.server.resource.introspection.SpringOpaqueTokenIntrospector;
+
+/**
+ * Opaque token introspection against Keycloak realm, roles mapped same way as for JWT.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "keycloak.introspection", name = "enabled", havingValue = "true")
+public class IntrospectionConfig {
+    private final IntrospectionProperties introspectionProperties;
+    private final KeycloakJwtAuthenticationConverter keycloakJwtAuthenticationConverter;
+    private final AuthMetrics authMetrics;
+
+    @Bean
+    public CachingOpaqueTokenIntrospector opaqueTokenIntrospector(RestTemplateBuilder restTemplateBuilder) {
+        final OpaqueTokenIntrospector introspector = new SpringOpaqueTokenIntrospector(introspectionProperties.getIntrospectionUri(),
+                restTemplateBuilder
+                        .basicAuthentication(introspectionProperties.getClientId(), introspectionProperties.getClientSecret())
+                        .setConnectTimeout(introspectionProperties.getConnectTimeout())
+                        .setReadTimeout(introspectionProperties.getReadTimeout())
+                        .build());
+        final CachingOpaqueTokenIntrospector cachingIntrospector = new CachingOpaqueTokenIntrospector(token -> {
+            final long started = System.nanoTime();
+            try {
+                final OAuth2AuthenticatedPrincipal principal = introspector.introspect(token);
+                return new KeycloakPrincipal(principal.getAttributes(),
+                        keycloakJwtAuthenticationConverter.extractAuthorities(principal.getAttributes()), principal.getName());
+            } finally {
+                authMetrics.record(AuthMetrics.Stage.INTROSPECT, started);
+            }
+        }, introspectionProperties.getCacheMaxSize(), introspectionProperties.getNegativeTtl());
+        authMetrics.bindCache("introspection", cachingIntrospector.getCache());
+        return cachingIntrospector;
+    }
+}
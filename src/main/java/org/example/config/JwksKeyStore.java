@@ -0,0 +1,196 @@
+package org.example.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.JwksProperties;
+import org.springframework.core.io.Resource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Local JWKS holder: seeded from file/classpath at startup, refreshed in background by schedule
+ * and on unknown {@code kid}. Concurrent refreshes share one fetch, request threads wait for it
+ * at most {@link JwksProperties#getUnknownKidWait()}.
+ */
+@Slf4j
+public class JwksKeyStore implements JWKSource<SecurityContext>, Closeable {
+    private final URL jwkSetUrl;
+    private final Resource seedLocation;
+    private final JwksProperties properties;
+    private final ScheduledExecutorService scheduler;
+    private final Executor fetchExecutor;
+    private final AtomicReference<CompletableFuture<JWKSet>> inFlight = new AtomicReference<>();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private volatile JWKSet jwkSet = new JWKSet();
+    private volatile long lastRefreshStarted;
+    private ScheduledFuture<?> scheduledRefresh;
+
+    public JwksKeyStore(URL jwkSetUrl, Resource seedLocation, JwksProperties properties, ScheduledExecutorService scheduler) {
+        this(jwkSetUrl, seedLocation, properties, scheduler, scheduler);
+    }
+
+    /**
+     * @param scheduler     runs periodic refresh trigger only
+     * @param fetchExecutor runs blocking JWKS fetches
+     */
+    public JwksKeyStore(URL jwkSetUrl, Resource seedLocation, JwksProperties properties, ScheduledExecutorService scheduler,
+                        Executor fetchExecutor) {
+        this.jwkSetUrl = jwkSetUrl;
+        this.seedLocation = seedLocation;
+        this.properties = properties;
+        this.scheduler = scheduler;
+        this.fetchExecutor = fetchExecutor;
+        this.lastRefreshStarted = System.nanoTime() - properties.getMinRefreshInterval().toNanos();
+    }
+
+    /**
+     * Load seed keys (if any) and schedule background refresh. Never calls remote endpoint on caller thread.
+     */
+    public void start() {
+        if (seedLocation != null) {
+            try (InputStream in = seedLocation.getInputStream()) {
+                jwkSet = JWKSet.load(in);
+                log.info("Loaded {} seed keys from {}", jwkSet.getKeys().size(), seedLocation);
+            } catch (IOException | ParseException e) {
+                throw new IllegalStateException("Can't load seed JWKS from " + seedLocation, e);
+            }
+        }
+        if (jwkSetUrl != null) {
+            final long period = properties.getRefreshInterval().toMillis();
+            scheduledRefresh = scheduler.scheduleWithFixedDelay(this::refresh, 0, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        final List<JWK> keys = jwkSelector.select(jwkSet);
+        if (!keys.isEmpty() || jwkSetUrl == null)
+            return keys;
+
+        final CompletableFuture<JWKSet> refresh = refreshOnUnknownKey();
+        final long waitMillis = properties.getUnknownKidWait().toMillis();
+        if (refresh == null || waitMillis <= 0)
+            return keys;
+        try {
+            return jwkSelector.select(refresh.get(waitMillis, TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Keys refresh not finished for unknown key: {}", e.toString());
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Start refresh or join already running one.
+     *
+     * @return future with refreshed key set
+     */
+    public CompletableFuture<JWKSet> refresh() {
+        while (true) {
+            final CompletableFuture<JWKSet> current = inFlight.get();
+            if (current != null)
+                return current;
+            final CompletableFuture<JWKSet> created = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, created)) {
+                lastRefreshStarted = System.nanoTime();
+                try {
+                    fetchExecutor.execute(() -> doRefresh(created));
+                } catch (RejectedExecutionException e) {
+                    // executor shut down, store closing
+                    inFlight.compareAndSet(created, null);
+                    created.completeExceptionally(e);
+                }
+                return created;
+            }
+        }
+    }
+
+    /**
+     * @return JWT processor verifying signatures with keys of this store, claims left to Spring validators
+     */
+    public DefaultJWTProcessor<SecurityContext> createProcessor() {
+        final Set<JWSAlgorithm> algorithms = properties.getAlgorithms().stream()
+                .map(JWSAlgorithm::parse)
+                .collect(Collectors.toSet());
+        final DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+        processor.setJWSKeySelector(new JWSVerificationKeySelector<>(algorithms, this));
+        processor.setJWTClaimsSetVerifier((claims, context) -> { });
+        return processor;
+    }
+
+    public JWKSet getJwkSet() {
+        return jwkSet;
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    public long getRefreshFailureCount() {
+        return refreshFailures.sum();
+    }
+
+    @Override
+    public void close() {
+        if (scheduledRefresh != null)
+            scheduledRefresh.cancel(false);
+    }
+
+    private CompletableFuture<JWKSet> refreshOnUnknownKey() {
+        final CompletableFuture<JWKSet> current = inFlight.get();
+        if (current != null)
+            return current;
+        if (System.nanoTime() - lastRefreshStarted < properties.getMinRefreshInterval().toNanos())
+            return null;
+        return refresh();
+    }
+
+    private void doRefresh(CompletableFuture<JWKSet> result) {
+        try {
+            refreshes.increment();
+            final JWKSet loaded = JWKSet.load(jwkSetUrl,
+                    (int) properties.getConnectTimeout().toMillis(),
+                    (int) properties.getReadTimeout().toMillis(),
+                    properties.getSizeLimit());
+            if (loaded.getKeys().isEmpty()) {
+                log.warn("Empty JWKS received from {}, keeping previous keys", jwkSetUrl);
+            } else {
+                jwkSet = loaded;
+            }
+            result.complete(jwkSet);
+        } catch (Exception e) {
+            refreshFailures.increment();
+            log.warn("Can't refresh JWKS from {}: {}", jwkSetUrl, e.toString());
+            result.completeExceptionally(e);
+        } finally {
+            inFlight.compareAndSet(result, null);
+        }
+    }
+}
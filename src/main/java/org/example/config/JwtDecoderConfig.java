@@ -0,0 +1,121 @@
+package org.example.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.properties.JwksProperties;
+import org.example.config.properties.JwtCacheProperties;
+import org.example.config.properties.MultiRealmProperties;
+import org.example.config.properties.StartupProperties;
+import org.example.metrics.AuthMetrics;
+import org.example.metrics.TimedJwtDecoder;
+import org.example.service.RevocationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.oauth2.resource.OAuth2ResourceServerProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoders;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.SupplierJwtDecoder;
+
+import javax.annotation.PreDestroy;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Builds resource-server {@link JwtDecoder} instead of Spring Boot auto-configuration,
+ * so it can use local {@link JwksKeyStore} and be wrapped with {@link CachingJwtDecoder}.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class JwtDecoderConfig {
+    private final OAuth2ResourceServerProperties resourceServerProperties;
+    private final JwtCacheProperties cacheProperties;
+    private final JwksProperties jwksProperties;
+    private final MultiRealmProperties multiRealmProperties;
+    private final StartupProperties startupProperties;
+    private final AuthMetrics authMetrics;
+    private ScheduledExecutorService jwksScheduler;
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "keycloak.jwks", name = "enabled", havingValue = "true")
+    public JwksKeyStore jwksKeyStore() throws MalformedURLException {
+        final URL jwkSetUrl = jwksProperties.getJwkSetUri() == null ? null : new URL(jwksProperties.getJwkSetUri());
+        final JwksKeyStore keyStore = new JwksKeyStore(jwkSetUrl, jwksProperties.getSeedLocation(), jwksProperties, getJwksScheduler());
+        authMetrics.bindRefreshes("jwks", keyStore, JwksKeyStore::getRefreshCount, JwksKeyStore::getRefreshFailureCount);
+        return keyStore;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "keycloak.realms", name = "enabled", havingValue = "true")
+    public MultiRealmJwtDecoder multiRealmJwtDecoder() {
+        return new MultiRealmJwtDecoder(multiRealmProperties, jwksProperties, getJwksScheduler());
+    }
+
+    @Bean
+    @Primary
+    public JwtDecoder jwtDecoder(ObjectProvider<JwksKeyStore> jwksKeyStore, ObjectProvider<MultiRealmJwtDecoder> multiRealmDecoder,
+                                 ObjectProvider<RevocationRegistry> revocationRegistry) {
+        // lazy: issuer, keys and revocations resolved by first bearer token, not before port opens
+        final JwtDecoder decoder = startupProperties.isLazyDecoder()
+                ? new SupplierJwtDecoder(() -> createDecoder(jwksKeyStore, multiRealmDecoder, revocationRegistry))
+                : createDecoder(jwksKeyStore, multiRealmDecoder, revocationRegistry);
+        return new TimedJwtDecoder(decoder, authMetrics, AuthMetrics.Stage.DECODE);
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (jwksScheduler != null)
+            jwksScheduler.shutdownNow();
+    }
+
+    private JwtDecoder createDecoder(ObjectProvider<JwksKeyStore> jwksKeyStore, ObjectProvider<MultiRealmJwtDecoder> multiRealmDecoder,
+                                     ObjectProvider<RevocationRegistry> revocationRegistry) {
+        JwtDecoder decoder = multiRealmDecoder.getIfAvailable();
+        if (decoder == null)
+            decoder = createSingleRealmDecoder(jwksKeyStore.getIfAvailable(), resourceServerProperties.getJwt().getIssuerUri());
+        // parse and signature verification of cache misses, DECODE minus VERIFY is rest of chain
+        decoder = new TimedJwtDecoder(decoder, authMetrics, AuthMetrics.Stage.VERIFY);
+        if (cacheProperties.isEnabled()) {
+            final CachingJwtDecoder cachingDecoder = new CachingJwtDecoder(decoder, cacheProperties.getMaxSize());
+            authMetrics.bindCache("jwt", cachingDecoder.getCache());
+            decoder = cachingDecoder;
+        }
+        final RevocationRegistry revocations = revocationRegistry.getIfAvailable();
+        if (revocations != null)
+            decoder = new RevocationCheckingJwtDecoder(decoder, revocations);
+        return decoder;
+    }
+
+    private JwtDecoder createSingleRealmDecoder(JwksKeyStore keyStore, String issuerUri) {
+        if (keyStore != null)
+            return createLocalKeysDecoder(keyStore, issuerUri);
+        return new SupplierJwtDecoder(() -> {
+            final NimbusJwtDecoder nimbusDecoder = JwtDecoders.fromIssuerLocation(issuerUri);
+            nimbusDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuerUri));
+            return nimbusDecoder;
+        });
+    }
+
+    /**
+     * Decoder verifying signatures with keys from store, issuer checked by configured value without discovery call.
+     */
+    private JwtDecoder createLocalKeysDecoder(JwksKeyStore keyStore, String issuerUri) {
+        return new CompactJwtDecoder(keyStore, jwksProperties.getAlgorithms(),
+                issuerUri == null ? JwtValidators.createDefault() : JwtValidators.createDefaultWithIssuer(issuerUri));
+    }
+
+    private synchronized ScheduledExecutorService getJwksScheduler() {
+        if (jwksScheduler == null) {
+            final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("jwks-refresh-");
+            threadFactory.setDaemon(true);
+            jwksScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        }
+        return jwksScheduler;
+    }
+}
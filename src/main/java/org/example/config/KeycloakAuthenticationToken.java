@@ -0,0 +1,45 @@
+package org.example.config;
+
+import org.example.authorization.RoleMaskAware;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.Transient;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.AbstractOAuth2TokenAuthenticationToken;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Authenticated JWT with {@link KeycloakPrincipal} as principal and role bitmask computed once at conversion.
+ * Raw {@link Jwt} stays available as token and credentials.
+ */
+@Transient
+public class KeycloakAuthenticationToken extends AbstractOAuth2TokenAuthenticationToken<Jwt> implements RoleMaskAware {
+    private final long roleMask;
+
+    public KeycloakAuthenticationToken(Jwt jwt, KeycloakPrincipal principal, Collection<? extends GrantedAuthority> authorities, long roleMask) {
+        super(jwt, principal, jwt, authorities);
+        this.roleMask = roleMask;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public Map<String, Object> getTokenAttributes() {
+        return getToken().getClaims();
+    }
+
+    @Override
+    public KeycloakPrincipal getPrincipal() {
+        return (KeycloakPrincipal) super.getPrincipal();
+    }
+
+    @Override
+    public String getName() {
+        return getPrincipal().getName();
+    }
+
+    @Override
+    public long getRoleMask() {
+        return roleMask;
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Bearer token from {@code Authorization} header, accepting same headers as {@link DefaultBearerTokenResolver}
+ * with default settings (no form or query parameters), but single scan of header instead of regex match, so only
+ * token substring allocated. Token with two dots must also have compact JWS shape (three non-empty base64url
+ * segments), malformed ones rejected before decoder.
+ */
+public class KeycloakBearerTokenResolver implements BearerTokenResolver {
+    private static final String SCHEME = "bearer";
+    private static final String MALFORMED = "Bearer token is malformed";
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        final String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.regionMatches(true, 0, SCHEME, 0, SCHEME.length()))
+            return null;
+        return extract(authorization);
+    }
+
+    /**
+     * @param authorization header value starting with scheme
+     *
+     * @return              token
+     *
+     * @throws InvalidBearerTokenException when header is not {@code Bearer <b64token>} or JWT is malformed
+     */
+    public static String extract(String authorization) {
+        final int start = SCHEME.length() + 1;
+        if (authorization.length() <= start || authorization.charAt(SCHEME.length()) != ' ')
+            throw new InvalidBearerTokenException(MALFORMED);
+        int end = authorization.length();
+        while (end > start && authorization.charAt(end - 1) == '=')
+            end--;
+        if (end == start)
+            throw new InvalidBearerTokenException(MALFORMED);
+
+        int dots = 0;
+        int segmentStart = start;
+        boolean base64Url = true;
+        boolean emptySegment = false;
+        for (int i = start; i < end; i++) {
+            final char c = authorization.charAt(i);
+            if (c == '.') {
+                dots++;
+                emptySegment |= i == segmentStart;
+                segmentStart = i + 1;
+            } else if (c == '~' || c == '+' || c == '/') {
+                base64Url = false;
+            } else if (!isAlphanumeric(c) && c != '-' && c != '_') {
+                throw new InvalidBearerTokenException(MALFORMED);
+            }
+        }
+        // JWS segments are unpadded base64url, padding belongs to opaque b64token only
+        if (dots == 2 && (emptySegment || segmentStart == end || !base64Url || end != authorization.length()))
+            throw new InvalidBearerTokenException(MALFORMED);
+        return authorization.substring(start);
+    }
+
+    private static boolean isAlphanumeric(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
@@ -0,0 +1,150 @@
+package org.example.config;
+
+import org.example.authorization.RoleRegistry;
+import org.example.config.properties.JwtCacheProperties;
+import org.example.config.properties.RoleProperties;
+import org.example.util.TokenCache;
+import org.example.util.TokenKey;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts Keycloak {@link Jwt} to authentication with authorities from {@code realm_access.roles}
+ * and {@code resource_access.<client>.roles}. One authority instance reused per role and
+ * converted authority set with its {@link RoleRegistry} mask memoized per token until its {@code exp}.
+ * With JWT cache enabled memo keyed by identity of cached {@link Jwt}, so cache hit hashes token only once,
+ * in {@link CachingJwtDecoder}; otherwise by {@link TokenKey}.
+ */
+@Component
+public class KeycloakJwtAuthenticationConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+    private static final String REALM_ACCESS = "realm_access";
+    private static final String RESOURCE_ACCESS = "resource_access";
+    private static final String ROLES = "roles";
+    private static final int MAX_INTERNED_ROLES = 10_000;
+
+    private final RoleProperties properties;
+    private final RoleRegistry roleRegistry;
+    private final String clientRolePrefix;
+    private final Map<String, GrantedAuthority> realmAuthorities = new ConcurrentHashMap<>();
+    private final Map<String, GrantedAuthority> clientAuthorities = new ConcurrentHashMap<>();
+    private final boolean cachedJwts;
+    private final TokenCache<Object, Grant> memo;
+    private final Clock clock = Clock.systemUTC();
+
+    public KeycloakJwtAuthenticationConverter(RoleProperties properties, RoleRegistry roleRegistry, JwtCacheProperties cacheProperties) {
+        this.properties = properties;
+        this.roleRegistry = roleRegistry;
+        this.cachedJwts = cacheProperties.isEnabled();
+        this.clientRolePrefix = properties.getClientRolePrefix() != null ? properties.getClientRolePrefix() : properties.getPrefix();
+        this.memo = new TokenCache<>(properties.getMemoSize());
+    }
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        final Grant grant = getGrant(jwt);
+        final KeycloakPrincipal principal = new KeycloakPrincipal(jwt.getClaims(), grant.authorities(), jwt.getClaimAsString(properties.getPrincipalClaim()));
+        return new KeycloakAuthenticationToken(jwt, principal, grant.authorities(), grant.roleMask());
+    }
+
+    /**
+     * @param jwt decoded token
+     *
+     * @return    memoized authorities for token
+     */
+    public Collection<GrantedAuthority> getAuthorities(Jwt jwt) {
+        return getGrant(jwt).authorities();
+    }
+
+    /**
+     * Build authorities from raw claims (JWT claims or introspection attributes).
+     *
+     * @param claims token claims
+     *
+     * @return       immutable authorities collection
+     */
+    public Collection<GrantedAuthority> extractAuthorities(Map<String, Object> claims) {
+        final Set<GrantedAuthority> result = new LinkedHashSet<>();
+        if (properties.isRealmRoles())
+            addRoles(result, claims.get(REALM_ACCESS), realmAuthorities, properties.getPrefix());
+        if (!properties.getClientIds().isEmpty() && claims.get(RESOURCE_ACCESS) instanceof Map<?, ?> resourceAccess) {
+            for (String clientId : properties.getClientIds())
+                addRoles(result, resourceAccess.get(clientId), clientAuthorities, clientRolePrefix);
+        }
+        return result.isEmpty() ? Collections.emptySet() : Collections.unmodifiableSet(result);
+    }
+
+    private Grant getGrant(Jwt jwt) {
+        if (jwt.getExpiresAt() == null)
+            return createGrant(jwt.getClaims());
+        final long now = clock.millis();
+        final Object key = cachedJwts ? new JwtIdentity(jwt) : TokenKey.of(jwt.getTokenValue());
+        Grant grant = memo.get(key, now);
+        if (grant == null) {
+            grant = createGrant(jwt.getClaims());
+            memo.put(key, grant, jwt.getExpiresAt().toEpochMilli(), now);
+        }
+        return grant;
+    }
+
+    private Grant createGrant(Map<String, Object> claims) {
+        final Collection<GrantedAuthority> authorities = extractAuthorities(claims);
+        return new Grant(authorities, roleRegistry.maskOf(authorities));
+    }
+
+    private void addRoles(Set<GrantedAuthority> result, Object access, Map<String, GrantedAuthority> interned, String prefix) {
+        if (!(access instanceof Map<?, ?> accessMap) || !(accessMap.get(ROLES) instanceof List<?> roles))
+            return;
+        for (Object role : roles) {
+            if (role instanceof String roleName)
+                result.add(getAuthority(roleName, interned, prefix));
+        }
+    }
+
+    private GrantedAuthority getAuthority(String role, Map<String, GrantedAuthority> interned, String prefix) {
+        final GrantedAuthority authority = interned.get(role);
+        if (authority != null)
+            return authority;
+        final GrantedAuthority created = new SimpleGrantedAuthority(prefix + normalize(role));
+        if (interned.size() >= MAX_INTERNED_ROLES)
+            return created;
+        final GrantedAuthority existing = interned.putIfAbsent(role, created);
+        return existing != null ? existing : created;
+    }
+
+    private String normalize(String role) {
+        final String name = properties.getAliases().getOrDefault(role, role);
+        return properties.isUpperCase() ? name.toUpperCase(Locale.ROOT) : name;
+    }
+
+    private record Grant(Collection<GrantedAuthority> authorities, long roleMask) {
+    }
+
+    /**
+     * Memo key of cached {@link Jwt}: same instance returned for repeated token, equality by reference.
+     */
+    private record JwtIdentity(Jwt jwt) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof JwtIdentity other && other.jwt == jwt;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(jwt);
+        }
+    }
+}
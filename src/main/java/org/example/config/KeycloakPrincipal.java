@@ -0,0 +1,154 @@
+package org.example.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keycloak user of authenticated request, built from JWT claims or introspection attributes.
+ * Typed accessors read only claims they need, claims map itself never copied. With {@link CompactJwtDecoder}
+ * nested claims ({@code realm_access}, {@code resource_access}, {@code groups}) are still raw JSON
+ * ({@link org.example.util.LazyJson}) parsed on first access: reading {@code sub} or {@code LDAP_ID} parses none
+ * of them, authority conversion parses {@code realm_access} once per token (and {@code resource_access} only with
+ * client roles configured), role and group accessors memoize converted sets. Memoization is
+ * racy-single-check: concurrent first calls may compute twice but always same value.
+ */
+public class KeycloakPrincipal implements OAuth2AuthenticatedPrincipal {
+    public static final String SUBJECT = "sub";
+    public static final String USERNAME = "preferred_username";
+    public static final String LDAP_ID = "LDAP_ID";
+    public static final String GROUPS = "groups";
+    private static final String REALM_ACCESS = "realm_access";
+    private static final String RESOURCE_ACCESS = "resource_access";
+    private static final String ROLES = "roles";
+    private static final UUID INVALID_ID = new UUID(0, 0);
+
+    private final Map<String, Object> claims;
+    private final Collection<GrantedAuthority> authorities;
+    private final String name;
+    private UUID subjectId;
+    private Set<String> realmRoles;
+    private Set<String> groups;
+    private Map<String, Set<String>> clientRoles;
+
+    public KeycloakPrincipal(Map<String, Object> claims, Collection<GrantedAuthority> authorities, String name) {
+        this.claims = claims;
+        this.authorities = authorities;
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name != null ? name : getSubject();
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return claims;
+    }
+
+    @Override
+    public Collection<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public String getSubject() {
+        return getString(SUBJECT);
+    }
+
+    /**
+     * @return subject as {@link UUID}, {@code null} if absent or not UUID (e.g. service account of other realm)
+     */
+    public UUID getSubjectId() {
+        UUID id = subjectId;
+        if (id == null) {
+            id = INVALID_ID;
+            final String subject = getSubject();
+            if (subject != null) {
+                try {
+                    id = UUID.fromString(subject);
+                } catch (IllegalArgumentException ignored) {
+                    // stays invalid
+                }
+            }
+            subjectId = id;
+        }
+        return id == INVALID_ID ? null : id;
+    }
+
+    public String getUsername() {
+        return getString(USERNAME);
+    }
+
+    public String getLdapId() {
+        return getString(LDAP_ID);
+    }
+
+    /**
+     * @return raw {@code realm_access.roles}, without authority prefix and aliases
+     */
+    public Set<String> getRealmRoles() {
+        Set<String> roles = realmRoles;
+        if (roles == null) {
+            roles = getRoles(claims.get(REALM_ACCESS));
+            realmRoles = roles;
+        }
+        return roles;
+    }
+
+    /**
+     * @param clientId Keycloak client
+     *
+     * @return         raw {@code resource_access.<clientId>.roles}
+     */
+    public Set<String> getClientRoles(String clientId) {
+        Map<String, Set<String>> byClient = clientRoles;
+        if (byClient == null) {
+            byClient = new ConcurrentHashMap<>(4);
+            clientRoles = byClient;
+        }
+        return byClient.computeIfAbsent(clientId, id -> getRoles(
+                claims.get(RESOURCE_ACCESS) instanceof Map<?, ?> resourceAccess ? resourceAccess.get(id) : null));
+    }
+
+    public Set<String> getGroups() {
+        Set<String> result = groups;
+        if (result == null) {
+            result = toStringSet(claims.get(GROUPS));
+            groups = result;
+        }
+        return result;
+    }
+
+    public boolean hasRealmRole(String role) {
+        return getRealmRoles().contains(role);
+    }
+
+    private String getString(String claim) {
+        final Object value = claims.get(claim);
+        return value != null ? value.toString() : null;
+    }
+
+    private static Set<String> getRoles(Object access) {
+        return access instanceof Map<?, ?> accessMap ? toStringSet(accessMap.get(ROLES)) : Collections.emptySet();
+    }
+
+    private static Set<String> toStringSet(Object values) {
+        if (!(values instanceof List<?> list) || list.isEmpty())
+            return Collections.emptySet();
+        final Set<String> result = new LinkedHashSet<>(list.size() * 2);
+        for (Object value : list) {
+            if (value instanceof String string)
+                result.add(string);
+        }
+        return Collections.unmodifiableSet(result);
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+
+/**
+ * Default authorization mode: {@code @PreAuthorize} evaluated with SpEL.
+ */
+@Configuration
+@EnableMethodSecurity
+@ConditionalOnProperty(prefix = "keycloak.authorization", name = "mode", havingValue = "spel", matchIfMissing = true)
+public class MethodSecurityConfig {
+}
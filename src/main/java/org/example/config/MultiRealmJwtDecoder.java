@@ -0,0 +1,209 @@
+package org.example.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWT;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.JWTParser;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.JwksProperties;
+import org.example.config.properties.MultiRealmProperties;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+
+import java.io.Closeable;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.text.ParseException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtDecoder} for several Keycloak realms. Token parsed once: unverified {@code iss} picks realm from allowlist,
+ * then same parsed token verified by realm processor. Realm {@link JwksKeyStore} and processor created on first
+ * token of realm, released after idle timeout or when more than max active realms in use. Realm keys fetched by
+ * own bounded pool, shared scheduler only triggers refreshes.
+ */
+@Slf4j
+public class MultiRealmJwtDecoder implements JwtDecoder, Closeable {
+    private static final String CERTS_PATH = "/protocol/openid-connect/certs";
+    private static final String DECODING_ERROR = "An error occurred while attempting to decode the Jwt: %s";
+
+    private final Set<String> issuers;
+    private final JwksProperties jwksProperties;
+    private final ScheduledExecutorService scheduler;
+    private final ThreadPoolExecutor fetchExecutor;
+    private final Object activationLock = new Object();
+    private final long idleTimeoutNanos;
+    private final int maxActive;
+    private final Map<String, Realm> realms = new ConcurrentHashMap<>();
+    private final Converter<Map<String, Object>, Map<String, Object>> claimSetConverter = MappedJwtClaimSetConverter.withDefaults(Collections.emptyMap());
+    private ScheduledFuture<?> eviction;
+
+    public MultiRealmJwtDecoder(MultiRealmProperties properties, JwksProperties jwksProperties, ScheduledExecutorService scheduler) {
+        this.issuers = Set.copyOf(properties.getIssuers());
+        this.jwksProperties = jwksProperties;
+        this.scheduler = scheduler;
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        this.maxActive = Math.max(1, properties.getMaxActive());
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("realm-jwks-fetch-");
+        threadFactory.setDaemon(true);
+        final int fetchThreads = Math.max(1, properties.getFetchThreads());
+        // at most one fetch in flight per active realm, so queue bounded by max active
+        this.fetchExecutor = new ThreadPoolExecutor(fetchThreads, fetchThreads, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), threadFactory);
+        this.fetchExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public void start() {
+        final long period = Math.max(1, TimeUnit.NANOSECONDS.toMillis(idleTimeoutNanos) / 2);
+        eviction = scheduler.scheduleWithFixedDelay(() -> evictIdle(System.nanoTime()), period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        final JWT parsed;
+        final String issuer;
+        try {
+            parsed = JWTParser.parse(token);
+            issuer = parsed.getJWTClaimsSet().getIssuer();
+        } catch (ParseException e) {
+            throw new BadJwtException(String.format(DECODING_ERROR, e.getMessage()), e);
+        }
+        if (!(parsed instanceof SignedJWT))
+            throw new BadJwtException("Unsupported algorithm of " + parsed.getHeader().getAlgorithm());
+        if (issuer == null || !issuers.contains(issuer))
+            throw new BadJwtException(String.format(DECODING_ERROR, "Untrusted issuer " + issuer));
+        return getRealm(issuer).decode(token, parsed);
+    }
+
+    /**
+     * @param nowNanos current {@link System#nanoTime()}
+     *
+     * @return         released realms count
+     */
+    public int evictIdle(long nowNanos) {
+        int evicted = 0;
+        for (Map.Entry<String, Realm> entry : realms.entrySet()) {
+            if (nowNanos - entry.getValue().lastUsed > idleTimeoutNanos && release(entry.getKey(), entry.getValue()))
+                evicted++;
+        }
+        return evicted;
+    }
+
+    public int getActiveCount() {
+        return realms.size();
+    }
+
+    @Override
+    public void close() {
+        if (eviction != null)
+            eviction.cancel(false);
+        realms.forEach(this::release);
+        fetchExecutor.shutdownNow();
+    }
+
+    private Realm getRealm(String issuer) {
+        final long now = System.nanoTime();
+        Realm realm = realms.get(issuer);
+        if (realm == null) {
+            // activations serialized, so only removals race with cap check
+            synchronized (activationLock) {
+                realm = realms.get(issuer);
+                if (realm == null) {
+                    while (realms.size() >= maxActive)
+                        evictLeastRecentlyUsed();
+                    realm = createRealm(issuer);
+                    realms.put(issuer, realm);
+                }
+            }
+        }
+        realm.lastUsed = now;
+        return realm;
+    }
+
+    private Realm createRealm(String issuer) {
+        final JwksKeyStore keyStore;
+        try {
+            keyStore = new JwksKeyStore(new URL(issuer + CERTS_PATH), null, jwksProperties, scheduler, fetchExecutor);
+        } catch (MalformedURLException e) {
+            throw new BadJwtException(String.format(DECODING_ERROR, "Malformed issuer " + issuer), e);
+        }
+        keyStore.start();
+        log.info("Realm {} activated, {} active", issuer, realms.size() + 1);
+        return new Realm(keyStore, keyStore.createProcessor(), JwtValidators.createDefaultWithIssuer(issuer));
+    }
+
+    private void evictLeastRecentlyUsed() {
+        Map.Entry<String, Realm> oldest = null;
+        for (Map.Entry<String, Realm> entry : realms.entrySet()) {
+            if (oldest == null || entry.getValue().lastUsed - oldest.getValue().lastUsed < 0)
+                oldest = entry;
+        }
+        if (oldest != null)
+            release(oldest.getKey(), oldest.getValue());
+    }
+
+    private boolean release(String issuer, Realm realm) {
+        if (!realms.remove(issuer, realm))
+            return false;
+        // request which obtained realm before removal still verifies with already loaded keys
+        realm.keyStore.close();
+        log.info("Realm {} released", issuer);
+        return true;
+    }
+
+    private final class Realm {
+        private final JwksKeyStore keyStore;
+        private final DefaultJWTProcessor<SecurityContext> processor;
+        private final OAuth2TokenValidator<Jwt> validator;
+        private volatile long lastUsed = System.nanoTime();
+
+        Realm(JwksKeyStore keyStore, DefaultJWTProcessor<SecurityContext> processor, OAuth2TokenValidator<Jwt> validator) {
+            this.keyStore = keyStore;
+            this.processor = processor;
+            this.validator = validator;
+        }
+
+        Jwt decode(String token, JWT parsed) {
+            final JWTClaimsSet claims;
+            try {
+                claims = processor.process(parsed, null);
+            } catch (BadJOSEException e) {
+                throw new BadJwtException(String.format(DECODING_ERROR, e.getMessage()), e);
+            } catch (JOSEException e) {
+                throw new JwtException(String.format(DECODING_ERROR, e.getMessage()), e);
+            }
+            final Jwt jwt = Jwt.withTokenValue(token)
+                    .headers(headers -> headers.putAll(parsed.getHeader().toJSONObject()))
+                    .claims(values -> values.putAll(claimSetConverter.convert(claims.getClaims())))
+                    .build();
+            final OAuth2TokenValidatorResult result = validator.validate(jwt);
+            if (result.hasErrors()) {
+                final Collection<OAuth2Error> errors = result.getErrors();
+                throw new JwtValidationException(String.format(DECODING_ERROR, errors.iterator().next().getDescription()), errors);
+            }
+            return jwt;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.config;
+
+import org.example.authorization.PathAuthorizationManager;
+import org.example.authorization.RoleRegistry;
+import org.example.config.properties.AuthorizationProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Trie path matching mode: path rules compiled at startup, overlapping or unsupported rules fail boot.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "keycloak.authorization", name = "path-matcher", havingValue = "trie")
+public class PathAuthorizationConfig {
+    @Bean
+    public PathAuthorizationManager pathAuthorizationManager(AuthorizationProperties authorizationProperties, RoleRegistry roleRegistry) {
+        return new PathAuthorizationManager(authorizationProperties.getPathRules(), roleRegistry);
+    }
+}
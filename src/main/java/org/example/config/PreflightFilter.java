@@ -0,0 +1,110 @@
+package org.example.config;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers CORS preflight requests ahead of security chain. Response headers for each origin, requested method and
+ * requested headers computed once by {@link CorsConfiguration} checks (as in Spring {@code DefaultCorsProcessor})
+ * and then written from cache, with {@code Access-Control-Max-Age} so browsers reuse preflight results.
+ */
+public class PreflightFilter extends OncePerRequestFilter {
+    private static final String VARY = String.join(", ", HttpHeaders.ORIGIN,
+            HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS);
+    private static final Preflight REJECTED = new Preflight(HttpServletResponse.SC_FORBIDDEN, new String[0],
+            "Invalid CORS request".getBytes(StandardCharsets.UTF_8));
+
+    private final CorsConfiguration configuration;
+    private final int cacheSize;
+    private final Map<Key, Preflight> cache = new ConcurrentHashMap<>();
+
+    public PreflightFilter(CorsConfiguration configuration, int cacheSize) {
+        this.configuration = configuration;
+        this.cacheSize = cacheSize;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        final String origin = request.getHeader(HttpHeaders.ORIGIN);
+        final String method = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+        if (origin == null || method == null || !HttpMethod.OPTIONS.matches(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        final Key key = new Key(origin, method, request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS));
+        Preflight preflight = cache.get(key);
+        if (preflight == null) {
+            preflight = evaluate(key);
+            // bounded, so arbitrary origins can't grow cache
+            if (cache.size() < cacheSize)
+                cache.putIfAbsent(key, preflight);
+        }
+        preflight.write(response);
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    private Preflight evaluate(Key key) {
+        final String allowOrigin = configuration.checkOrigin(key.origin);
+        final List<HttpMethod> allowMethods = configuration.checkHttpMethod(HttpMethod.resolve(key.method));
+        final List<String> requestHeaders = key.headers == null ? List.of()
+                : Arrays.asList(StringUtils.tokenizeToStringArray(key.headers, ","));
+        final List<String> allowHeaders = configuration.checkHeaders(requestHeaders);
+        if (allowOrigin == null || allowMethods == null || (!requestHeaders.isEmpty() && allowHeaders == null))
+            return REJECTED;
+
+        final List<String> headers = new ArrayList<>();
+        headers.add(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN);
+        headers.add(allowOrigin);
+        headers.add(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS);
+        headers.add(StringUtils.collectionToCommaDelimitedString(allowMethods));
+        if (allowHeaders != null && !allowHeaders.isEmpty()) {
+            headers.add(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS);
+            headers.add(StringUtils.collectionToCommaDelimitedString(allowHeaders));
+        }
+        if (Boolean.TRUE.equals(configuration.getAllowCredentials())) {
+            headers.add(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS);
+            headers.add("true");
+        }
+        if (configuration.getMaxAge() != null) {
+            headers.add(HttpHeaders.ACCESS_CONTROL_MAX_AGE);
+            headers.add(configuration.getMaxAge().toString());
+        }
+        return new Preflight(HttpServletResponse.SC_OK, headers.toArray(String[]::new), new byte[0]);
+    }
+
+    private record Key(String origin, String method, String headers) {
+    }
+
+    /**
+     * @param headers names and values, interleaved
+     */
+    private record Preflight(int status, String[] headers, byte[] body) {
+        void write(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            response.setHeader(HttpHeaders.VARY, VARY);
+            for (int i = 0; i < headers.length; i += 2)
+                response.setHeader(headers[i], headers[i + 1]);
+            response.setContentLength(body.length);
+            if (body.length > 0)
+                response.getOutputStream().write(body);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.exception.ErrorResponseWriter;
+import org.example.metrics.AuthMetrics;
+import org.example.ratelimit.RateLimiter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects authenticated requests over {@link RateLimiter} limits with 429 and {@code Retry-After}.
+ * Placed right after bearer token authentication, so rejected requests skip the rest of chain.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter rateLimiter;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final AuthMetrics authMetrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken || !authentication.isAuthenticated()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        final long waitNanos = rateLimiter.tryAcquire(authentication, UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        if (waitNanos == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        authMetrics.failure(AuthMetrics.Failure.RATE_LIMITED);
+        errorResponseWriter.tooManyRequests(response, Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+    }
+}
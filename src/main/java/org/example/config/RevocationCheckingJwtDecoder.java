@@ -0,0 +1,31 @@
+package org.example.config;
+
+import org.example.service.RevocationRegistry;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Rejects decoded tokens revoked by {@code jti} or by subject rule. Outermost decoder, so tokens served
+ * from {@link CachingJwtDecoder} are checked too.
+ */
+public class RevocationCheckingJwtDecoder implements JwtDecoder {
+    public static final String REVOKED_MESSAGE = "Token revoked";
+
+    private final JwtDecoder delegate;
+    private final RevocationRegistry revocationRegistry;
+
+    public RevocationCheckingJwtDecoder(JwtDecoder delegate, RevocationRegistry revocationRegistry) {
+        this.delegate = delegate;
+        this.revocationRegistry = revocationRegistry;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        final Jwt jwt = delegate.decode(token);
+        if (revocationRegistry.isRevoked(jwt.getId(), jwt.getSubject(), jwt.getIssuedAt()))
+            throw new BadJwtException(REVOKED_MESSAGE);
+        return jwt;
+    }
+}
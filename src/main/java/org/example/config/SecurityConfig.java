@@ -1,20 +1,56 @@
 package org.example.config;
 
 import lombok.RequiredArgsConstructor;
+import org.example.audit.AuthAuditLog;
+import org.example.config.properties.AuthorizationProperties;
+import org.example.config.properties.IntrospectionProperties;
+import org.example.authorization.PathAuthorizationManager;
 import org.example.exception.CustomAuthenticationEntryPoint;
+import org.example.exception.ErrorResponseWriter;
+import org.example.metrics.AuthMetrics;
+import org.example.metrics.TimedBearerTokenResolver;
+import org.example.ratelimit.RateLimiter;
+import org.example.service.InternalTokenService;
+import org.example.util.Utils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.convert.converter.Converter;
 import org.springframework.context.annotation.Bean;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationManagerResolver;
+import org.springframework.security.config.annotation.web.configurers.oauth2.server.resource.OAuth2ResourceServerConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.OpaqueTokenAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
+import javax.servlet.http.HttpServletRequest;
+
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
     private final UserValidationFilter userValidationFilter;
     private final CustomAuthenticationEntryPoint customAuthenticationEntryPoint;
+    private final KeycloakJwtAuthenticationConverter keycloakJwtAuthenticationConverter;
+    private final AuthAuditLog authAuditLog;
+    private final AuthMetrics authMetrics;
+    private final JwtDecoder jwtDecoder;
+    private final IntrospectionProperties introspectionProperties;
+    private final AuthorizationProperties authorizationProperties;
+    private final ObjectProvider<CachingOpaqueTokenIntrospector> opaqueTokenIntrospector;
+    private final ObjectProvider<RateLimiter> rateLimiter;
+    private final ObjectProvider<PathAuthorizationManager> pathAuthorizationManager;
+    private final ObjectProvider<InternalTokenService> internalTokenService;
+    private final ErrorResponseWriter errorResponseWriter;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -26,16 +62,77 @@ public class SecurityConfig {
                 .and()
                     .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
-                .authorizeRequests(authorizeRequests -> authorizeRequests
-                        .antMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-                        .antMatchers("/api/anonymous/**", "/error/**").permitAll()
-                        .anyRequest().authenticated())
+                .addFilterBefore(new AuthAuditFilter(authAuditLog), BearerTokenAuthenticationFilter.class)
 //                .addFilterAfter(userValidationFilter, AnonymousAuthenticationFilter.class)
 //                .oauth2Login();
-                .oauth2ResourceServer()
-                .authenticationEntryPoint(customAuthenticationEntryPoint)
-                .jwt();
+                .oauth2ResourceServer(this::configureResourceServer);
 //                .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
+        final PathAuthorizationManager pathAuthorization = pathAuthorizationManager.getIfAvailable();
+        if (pathAuthorization != null)
+            http.authorizeHttpRequests(authorize -> authorize.anyRequest().access(pathAuthorization));
+        else
+            http.authorizeRequests(authorizeRequests -> {
+                // path rules in declaration order, first match wins, as authorization checks resolve them in ant mode
+                for (AuthorizationProperties.PathRule rule : authorizationProperties.getPathRules())
+                    authorizeRequests.antMatchers(rule.getMethod(), rule.getPath()).access(rule.getAccess());
+                authorizeRequests.anyRequest().authenticated();
+            });
+        rateLimiter.ifAvailable(limiter -> http.addFilterAfter(
+                new RateLimitFilter(limiter, errorResponseWriter, authMetrics), BearerTokenAuthenticationFilter.class));
         return http.build();
     }
+
+    private void configureResourceServer(OAuth2ResourceServerConfigurer<HttpSecurity> resourceServer) {
+        resourceServer
+                .authenticationEntryPoint(customAuthenticationEntryPoint)
+                .bearerTokenResolver(new TimedBearerTokenResolver(new KeycloakBearerTokenResolver(), authMetrics));
+        final OpaqueTokenIntrospector introspector = introspectionProperties.isEnabled() ? opaqueTokenIntrospector.getIfAvailable() : null;
+        final InternalTokenService internalTokens = internalTokenService.getIfAvailable();
+        if (introspector == null && internalTokens == null)
+            resourceServer.jwt().jwtAuthenticationConverter(timedConverter());
+        else
+            resourceServer.authenticationManagerResolver(tokenTypeManager(introspector, internalTokens));
+    }
+
+    /**
+     * Internal, JWT and opaque tokens side by side: internal tokens by {@link InternalTokenService#isInternalToken},
+     * others by {@link Utils#isJwt}, all non-internal tokens are JWT without introspector.
+     */
+    private AuthenticationManagerResolver<HttpServletRequest> tokenTypeManager(OpaqueTokenIntrospector introspector,
+                                                                               InternalTokenService internalTokens) {
+        final JwtAuthenticationProvider jwtProvider = new JwtAuthenticationProvider(jwtDecoder);
+        jwtProvider.setJwtAuthenticationConverter(timedConverter());
+        final OpaqueTokenAuthenticationProvider opaqueTokenProvider = introspector == null ? null : new OpaqueTokenAuthenticationProvider(introspector);
+        final AuthenticationManager manager = authentication -> {
+            final String token = ((BearerTokenAuthenticationToken) authentication).getToken();
+            if (internalTokens != null && InternalTokenService.isInternalToken(token))
+                return authenticateInternal(internalTokens, (BearerTokenAuthenticationToken) authentication);
+            return opaqueTokenProvider == null || Utils.isJwt(token)
+                    ? jwtProvider.authenticate(authentication)
+                    : opaqueTokenProvider.authenticate(authentication);
+        };
+        return request -> manager;
+    }
+
+    private Authentication authenticateInternal(InternalTokenService internalTokens, BearerTokenAuthenticationToken bearer) {
+        final long started = System.nanoTime();
+        try {
+            final AbstractAuthenticationToken authentication = internalTokens.authenticate(bearer.getToken());
+            authentication.setDetails(bearer.getDetails());
+            return authentication;
+        } finally {
+            authMetrics.record(AuthMetrics.Stage.INTERNAL_VERIFY, started);
+        }
+    }
+
+    private Converter<Jwt, AbstractAuthenticationToken> timedConverter() {
+        return jwt -> {
+            final long started = System.nanoTime();
+            try {
+                return keycloakJwtAuthenticationConverter.convert(jwt);
+            } finally {
+                authMetrics.record(AuthMetrics.Stage.CONVERT, started);
+            }
+        };
+    }
 }
@@ -4,7 +4,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.dto.BaseResponse;
+import org.example.config.properties.UserSyncProperties;
 import org.example.exception.CustomAppException;
+import org.example.exception.ErrorResponseWriter;
+import org.example.metrics.AuthMetrics;
+import org.example.service.UserSyncRegistry;
 import org.example.util.Utils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -13,9 +17,12 @@ import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.core.OAuth2AuthenticatedPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.web.FilterChainProxy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.GenericFilterBean;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -48,7 +55,12 @@ import static javax.servlet.RequestDispatcher.ERROR_STATUS_CODE;
 //    @Autowired
 //    private ObjectMapper objectMapper;
 //
-////    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+////    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return USER_SYNC_ENDPOINT.matches(request);
+    }
+
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
 //    @Override
 //    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
 //        System.out.println("PRE >" + SecurityContextHolder.getContext() + "< -" + SecurityContextHolder.getContext().getAuthentication() + "-");
@@ -81,17 +93,28 @@ import static javax.servlet.RequestDispatcher.ERROR_STATUS_CODE;
 
 //public class UserValidationFilter extends GenericFilterBean {
 public class UserValidationFilter extends OncePerRequestFilter {
+    private static final String PREFERRED_USERNAME = "preferred_username";
+    /**
+     * Admin endpoint filling registry, exempt so admins can do it before being synchronized themselves.
+     */
+    private static final RequestMatcher USER_SYNC_ENDPOINT = new AntPathRequestMatcher("/api/admin/user-sync/**");
+
     private final ObjectMapper objectMapper;
+    private final UserSyncProperties userSyncProperties;
+    private final UserSyncRegistry userSyncRegistry;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final AuthMetrics authMetrics;
 
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        final long started = System.nanoTime();
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        System.out.println("PRE >" + SecurityContextHolder.getContext() + "< -" + authentication + "-");
-        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !userSyncProperties.isEnabled() || userSyncRegistry.isSynchronized(authentication)) {
+            authMetrics.record(AuthMetrics.Stage.USER_VALIDATION, started);
             chain.doFilter(request, response);
             return;
         } else if (authentication.getPrincipal() != null) {
-            System.out.println("AFTER " + authentication.getPrincipal());
-
+            authMetrics.failure(AuthMetrics.Failure.NOT_SYNCHRONIZED);
 //            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
 //            request.setAttribute(ERROR_STATUS_CODE, HttpServletResponse.SC_FORBIDDEN);
 //            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
@@ -111,7 +134,8 @@ public class UserValidationFilter extends OncePerRequestFilter {
 //            response.getOutputStream().write(objectMapper.writeValueAsString(resp).getBytes(StandardCharsets.UTF_8));
 //            response.sendError(HttpServletResponse.SC_FORBIDDEN, objectMapper.writeValueAsString(resp));
 
-            response.sendError(HttpServletResponse.SC_FORBIDDEN, ((Jwt) authentication.getPrincipal()).getClaims().get("preferred_username").toString());
+            errorResponseWriter.userNotSynchronized(response, getUsername(authentication));
+            authMetrics.record(AuthMetrics.Stage.USER_VALIDATION, started);
 //            response.getOutputStream().write(objectMapper.writeValueAsString(resp).getBytes(StandardCharsets.UTF_8));
 //            throw new CustomAppException(HttpStatus.FORBIDDEN, "TEST");
 
@@ -120,4 +144,14 @@ public class UserValidationFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    private static Object getUsername(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof KeycloakPrincipal keycloakPrincipal)
+            return keycloakPrincipal.getUsername();
+        if (authentication.getPrincipal() instanceof Jwt jwt)
+            return jwt.getClaims().get(PREFERRED_USERNAME);
+        if (authentication.getPrincipal() instanceof OAuth2AuthenticatedPrincipal principal)
+            return principal.getAttribute(PREFERRED_USERNAME);
+        return authentication.getName();
+    }
 }
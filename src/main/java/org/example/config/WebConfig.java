@@ -0,0 +1,20 @@
+package org.example.config;
+
+import lombok.RequiredArgsConstructor;
+import org.example.util.BaseResponseWriter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    private final BaseResponseWriter baseResponseWriter;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new BaseResponseHttpMessageConverter(baseResponseWriter));
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Authentication audit log settings.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.audit")
+public class AuditProperties {
+    private boolean enabled = false;
+    private String file = "logs/auth-audit.log";
+    /**
+     * Ring buffer capacity, rounded up to power of two. Events over capacity dropped and counted.
+     */
+    private int bufferSize = 8192;
+    private int batchSize = 512;
+    private DataSize maxFileSize = DataSize.ofMegabytes(50);
+    private int maxFiles = 5;
+    /**
+     * Max distinct request paths with own id, others logged as {@code <other>}.
+     */
+    private int maxPaths = 1024;
+    /**
+     * Writer pause when buffer empty.
+     */
+    private Duration idleWait = Duration.ofMillis(10);
+}
@@ -0,0 +1,66 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects how handler method role rules are enforced and how request paths are matched to path rules.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.authorization")
+public class AuthorizationProperties {
+    private Mode mode = Mode.SPEL;
+    private PathMatcher pathMatcher = PathMatcher.ANT;
+    /**
+     * Rules for both matchers: {@link PathMatcher#ANT} takes first matching rule in declaration order,
+     * {@link PathMatcher#TRIE} most specific pattern regardless of order, method-specific rules before any-method ones.
+     * Requests without matching rule require authentication.
+     */
+    private List<PathRule> pathRules = new ArrayList<>();
+
+    public enum Mode {
+        /**
+         * {@code @PreAuthorize} evaluated by Spring method security.
+         */
+        SPEL,
+        /**
+         * Rules compiled at startup to role bitmasks, see {@link org.example.authorization.RoleBitsetInterceptor}.
+         */
+        BITSET
+    }
+
+    public enum PathMatcher {
+        /**
+         * {@link #pathRules} as {@code antMatchers} of security config, checked one by one.
+         */
+        ANT,
+        /**
+         * {@link #pathRules} compiled to segment trie, see {@link org.example.authorization.PathAuthorizationManager}.
+         */
+        TRIE
+    }
+
+    @Getter
+    @Setter
+    public static class PathRule {
+        /**
+         * Any method if not set.
+         */
+        private HttpMethod method;
+        /**
+         * Path pattern with literal, {@code *}, {@code {name}} segments and optional trailing {@code **}.
+         */
+        private String path;
+        /**
+         * {@code permitAll}, {@code isAuthenticated()} or role expression as in {@code @PreAuthorize},
+         * e.g. {@code hasAnyRole('ADMIN', 'SERVICE')}.
+         */
+        private String access = "isAuthenticated()";
+    }
+}
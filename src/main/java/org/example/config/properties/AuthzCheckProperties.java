@@ -0,0 +1,34 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Batch authorization check API for sidecars and gateways.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.authz-check")
+public class AuthzCheckProperties {
+    private boolean enabled = false;
+    private int maxTokens = 1000;
+    private int maxChecks = 10_000;
+    /**
+     * Tokens of batch verified in parallel from this count.
+     */
+    private int parallelTokens = 8;
+    /**
+     * Checks of batch resolved to rules in parallel from this count.
+     */
+    private int parallelChecks = 2048;
+    /**
+     * Threads of batch executor shared by all requests, blocking token verification (key fetches, introspection)
+     * stays off common fork-join pool.
+     */
+    private int threads = 8;
+    /**
+     * Batch chunks waiting for executor threads, over it chunks run on request thread.
+     */
+    private int queueCapacity = 64;
+}
@@ -0,0 +1,38 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CORS policy for all paths. Preflights answered by {@link org.example.config.PreflightFilter} before security chain,
+ * actual requests checked by Spring Security {@code .cors()}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.cors")
+public class CorsProperties {
+    private boolean enabled = false;
+    private List<String> allowedOrigins = new ArrayList<>();
+    /**
+     * Patterns like {@code https://*.example.org}, allowed with credentials unlike {@code *} origin.
+     */
+    private List<String> allowedOriginPatterns = new ArrayList<>();
+    private List<String> allowedMethods = new ArrayList<>(List.of("GET", "HEAD", "POST"));
+    private List<String> allowedHeaders = new ArrayList<>(List.of("Authorization", "Content-Type"));
+    private List<String> exposedHeaders = new ArrayList<>();
+    private boolean allowCredentials = false;
+    /**
+     * Browser preflight cache time ({@code Access-Control-Max-Age}).
+     */
+    private Duration maxAge = Duration.ofHours(1);
+    /**
+     * Max count of distinct origin, method and headers combinations with precomputed preflight response,
+     * others evaluated on each request.
+     */
+    private int preflightCacheSize = 1024;
+}
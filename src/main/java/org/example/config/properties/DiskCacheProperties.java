@@ -0,0 +1,29 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Sharded on-disk cache settings, see {@link org.example.service.DiskCacheStore}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.disk-cache")
+public class DiskCacheProperties {
+    private boolean enabled = false;
+    private String root = "cache";
+    /**
+     * Total size budget, least recently used entries evicted over it.
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+    /**
+     * Part of {@link #maxSize} left after eviction.
+     */
+    private double lowWatermark = 0.9;
+    /**
+     * Entries of this size and bigger read with memory mapping.
+     */
+    private DataSize mmapThreshold = DataSize.ofKilobytes(64);
+}
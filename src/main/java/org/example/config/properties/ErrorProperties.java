@@ -0,0 +1,52 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Error responses settings.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.errors")
+public class ErrorProperties {
+    /**
+     * Write 401/403 {@link org.example.dto.BaseResponse} directly from security filters instead of
+     * {@code sendError} and re-dispatch to {@code /error}.
+     */
+    private boolean directWrite = true;
+    private Logging logging = new Logging();
+
+    @Getter
+    @Setter
+    public static class Logging {
+        private Mode mode = Mode.FULL;
+        /**
+         * Max logged occurrences per exception type and path in {@link #interval}, others only counted.
+         */
+        private int limitPerInterval = 5;
+        private Duration interval = Duration.ofMinutes(1);
+        /**
+         * Log stack traces of 4xx errors in {@link Mode#LIMITED} mode.
+         */
+        private boolean clientErrorStackTraces = false;
+        /**
+         * Max tracked (type, path) pairs, after that limits shared per exception type.
+         */
+        private int maxTrackedPaths = 10_000;
+    }
+
+    public enum Mode {
+        /**
+         * Every error logged with stack trace.
+         */
+        FULL,
+        /**
+         * Errors logged with limit per exception type and path, suppressed ones counted.
+         */
+        LIMITED
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Compact HMAC-signed internal tokens exchanged for verified Keycloak tokens, for service-to-service hops.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.internal-token")
+public class InternalTokenProperties {
+    private boolean enabled = false;
+    /**
+     * Master secret shared by all replicas, at least 32 bytes. Signing keys derived from it per rotation epoch.
+     */
+    private String secret;
+    /**
+     * Internal token lifetime, capped by expiration of exchanged token. Must not exceed key rotation.
+     */
+    private Duration ttl = Duration.ofMinutes(5);
+    /**
+     * Signing key epoch length. Tokens of current and previous epoch verified, so no coordination on rotation.
+     */
+    private Duration keyRotation = Duration.ofHours(1);
+}
@@ -0,0 +1,32 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for opaque token introspection, enabled alongside JWT. Endpoint and client credentials kept here rather
+ * than under {@code spring.security.oauth2.resourceserver.opaquetoken}, where Spring Boot would register its own
+ * uncached introspector regardless of {@link #enabled}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.introspection")
+public class IntrospectionProperties {
+    private boolean enabled = false;
+    private String introspectionUri;
+    private String clientId;
+    private String clientSecret;
+    /**
+     * Max count of cached introspection results, active and inactive together.
+     */
+    private int cacheMaxSize = 10_000;
+    /**
+     * How long inactive (invalid, revoked, expired) token result is remembered.
+     */
+    private Duration negativeTtl = Duration.ofSeconds(10);
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(2);
+}
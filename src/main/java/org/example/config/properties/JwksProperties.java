@@ -0,0 +1,40 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings for local JWKS key store used instead of issuer discovery.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.jwks")
+public class JwksProperties {
+    private boolean enabled = false;
+    /**
+     * Realm certs endpoint, e.g. {@code <realm-url>/protocol/openid-connect/certs}. Without it store works offline only.
+     */
+    private String jwkSetUri;
+    /**
+     * Optional JWKS document ({@code file:} or {@code classpath:}) loaded at startup.
+     */
+    private Resource seedLocation;
+    private Duration refreshInterval = Duration.ofMinutes(5);
+    /**
+     * Min pause between refreshes triggered by unknown {@code kid}.
+     */
+    private Duration minRefreshInterval = Duration.ofSeconds(10);
+    /**
+     * How long request with unknown {@code kid} may wait for in-flight refresh, zero means never wait.
+     */
+    private Duration unknownKidWait = Duration.ofMillis(500);
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(2);
+    private int sizeLimit = 50 * 1024;
+    private List<String> algorithms = List.of("RS256");
+}
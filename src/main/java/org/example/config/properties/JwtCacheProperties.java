@@ -0,0 +1,19 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for verified JWT cache in front of resource-server decoder.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.jwt-cache")
+public class JwtCacheProperties {
+    private boolean enabled = false;
+    /**
+     * Max count of cached tokens, on overflow expired and then arbitrary entries evicted.
+     */
+    private int maxSize = 10_000;
+}
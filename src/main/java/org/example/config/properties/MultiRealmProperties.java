@@ -0,0 +1,36 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Accepting tokens of several Keycloak realms. Realm decoder and keys created on its first token,
+ * JWKS endpoint and timeouts as in {@link JwksProperties}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.realms")
+public class MultiRealmProperties {
+    private boolean enabled = false;
+    /**
+     * Allowed issuers, realm URLs like {@code https://sso.example.org/auth/realms/tenant}.
+     */
+    private Set<String> issuers = new LinkedHashSet<>();
+    /**
+     * Realm without tokens for this long releases its decoder and keys.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+    /**
+     * Max count of realms with live decoder, least recently used one released over it.
+     */
+    private int maxActive = 64;
+    /**
+     * Threads fetching realm keys, so slow realm endpoint doesn't delay keys of other realms.
+     */
+    private int fetchThreads = 8;
+}
@@ -0,0 +1,55 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-subject request rate limits of authenticated requests. First rule matching path and role applies.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = false;
+    /**
+     * Period of removing buckets which refilled completely, i.e. of subjects idle long enough.
+     */
+    private Duration evictionInterval = Duration.ofMinutes(1);
+    private List<Rule> rules = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Rule {
+        /**
+         * Ant-style path pattern, any path if not set.
+         */
+        private String path;
+        /**
+         * Role ({@code SERVICE}) or full authority ({@code ROLE_SERVICE}), any authenticated if not set.
+         */
+        private String role;
+        private Key key = Key.SUBJECT;
+        private int requests = 100;
+        private Duration period = Duration.ofSeconds(1);
+        /**
+         * Max requests in burst, {@link #requests} if not set.
+         */
+        private int burst;
+    }
+
+    public enum Key {
+        /**
+         * Token {@code sub}.
+         */
+        SUBJECT,
+        /**
+         * Token {@code azp}, client which requested token, shared by all its users.
+         */
+        CLIENT
+    }
+}
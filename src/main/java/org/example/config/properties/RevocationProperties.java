@@ -0,0 +1,31 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for revoked tokens ({@code jti}) and revoked subjects checks of decoded JWT.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.revocation")
+public class RevocationProperties {
+    private boolean enabled = false;
+    /**
+     * Append-only journal of revocations replayed at startup and compacted on prune. Empty means in-memory only.
+     */
+    private String journalPath;
+    /**
+     * Bloom filter sizing, filter rebuilt with double size when live entries exceed it.
+     */
+    private int expectedRevocations = 10_000;
+    private double falsePositiveRate = 0.01;
+    /**
+     * Max access token lifespan of realm: how long subject rule and token revocation without {@code exp} kept.
+     */
+    private Duration maxTokenLifetime = Duration.ofHours(1);
+    private Duration pruneInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,45 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapping of Keycloak {@code realm_access}/{@code resource_access} roles to Spring authorities.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.roles")
+public class RoleProperties {
+    /**
+     * Read roles from {@code realm_access.roles}.
+     */
+    private boolean realmRoles = true;
+    /**
+     * Clients whose {@code resource_access.<client>.roles} are read.
+     */
+    private List<String> clientIds = new ArrayList<>();
+    private String prefix = "ROLE_";
+    /**
+     * Prefix for client roles, {@link #prefix} used if not set.
+     */
+    private String clientRolePrefix;
+    private boolean upperCase = true;
+    /**
+     * Keycloak role name to application role name (before prefix applied).
+     */
+    private Map<String, String> aliases = new HashMap<>();
+    /**
+     * Claim used as authentication name.
+     */
+    private String principalClaim = "sub";
+    /**
+     * Max count of tokens with memoized authorities.
+     */
+    private int memoSize = 10_000;
+}
@@ -0,0 +1,19 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Startup time settings, see {@code fast-start} profile.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.startup")
+public class StartupProperties {
+    /**
+     * Build decoder chain on first bearer token instead of context refresh. Key store, revocation registry and
+     * multi-realm decoder then created on first token too, when beans are lazy ({@code spring.main.lazy-initialization}).
+     */
+    private boolean lazyDecoder = false;
+}
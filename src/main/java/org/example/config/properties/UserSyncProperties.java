@@ -0,0 +1,20 @@
+package org.example.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for synchronized users check in {@link org.example.config.UserValidationFilter}.
+ */
+@Getter
+@Setter
+@ConfigurationProperties("keycloak.user-sync")
+public class UserSyncProperties {
+    private boolean enabled = true;
+    /**
+     * Binary snapshot with 16 bytes per user id (layout of {@link org.example.util.Utils#bytesToUuid}), loaded at startup.
+     */
+    private String snapshotPath;
+    private int expectedUsers = 1 << 16;
+}
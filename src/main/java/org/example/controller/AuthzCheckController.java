@@ -0,0 +1,38 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.AuthzCheckRequest;
+import org.example.dto.AuthzDecisions;
+import org.example.dto.BaseResponse;
+import org.example.service.AuthzCheckService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Batch authorization checks for sidecars and gateways, many (resource, action) questions for one or many tokens.
+ * Reveals validity and subjects of submitted tokens, so only for service accounts.
+ */
+@RestController
+@RequestMapping("/api/authz")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "keycloak.authz-check", name = "enabled", havingValue = "true")
+public class AuthzCheckController {
+    private final AuthzCheckService authzCheckService;
+
+    @PostMapping("/check")
+    @PreAuthorize("hasRole('SERVICE')")
+    public BaseResponse<List<AuthzDecisions>> check(@RequestBody AuthzCheckRequest request, Authentication authentication) {
+        return BaseResponse.<List<AuthzDecisions>>builder()
+                .data(authzCheckService.check(request, authentication))
+                .timestamp(Instant.now())
+                .build();
+    }
+}
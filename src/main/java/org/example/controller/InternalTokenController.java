@@ -0,0 +1,34 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.BaseResponse;
+import org.example.dto.InternalToken;
+import org.example.service.InternalTokenService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+
+/**
+ * Exchange of verified Keycloak token of request for internal service token.
+ */
+@RestController
+@RequestMapping("/api/token")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "keycloak.internal-token", name = "enabled", havingValue = "true")
+public class InternalTokenController {
+    private final InternalTokenService internalTokenService;
+
+    @PostMapping("/internal")
+    @PreAuthorize("hasRole('SERVICE')")
+    public BaseResponse<InternalToken> exchange(Authentication authentication) {
+        return BaseResponse.<InternalToken>builder()
+                .data(internalTokenService.issue(authentication))
+                .timestamp(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.BaseResponse;
+import org.example.dto.SubjectRevocation;
+import org.example.dto.TokenRevocation;
+import org.example.service.RevocationRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Revocation of tokens before their expiration.
+ */
+@RestController
+@RequestMapping("/api/admin/revocations")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "keycloak.revocation", name = "enabled", havingValue = "true")
+public class RevocationController {
+    private final RevocationRegistry revocationRegistry;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public BaseResponse<Map<String, Integer>> getCounts() {
+        return response("Active revocations");
+    }
+
+    @PostMapping("/tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BaseResponse<Map<String, Integer>> revokeTokens(@RequestBody List<TokenRevocation> revocations) {
+        for (TokenRevocation revocation : revocations)
+            revocationRegistry.revokeToken(revocation.jti(), revocation.expiresAt());
+        return response("Tokens revoked");
+    }
+
+    @PostMapping("/subjects")
+    @PreAuthorize("hasRole('ADMIN')")
+    public BaseResponse<Map<String, Integer>> revokeSubjects(@RequestBody List<SubjectRevocation> revocations) {
+        for (SubjectRevocation revocation : revocations)
+            revocationRegistry.revokeSubject(revocation.subject(), revocation.issuedBefore());
+        return response("Subjects revoked");
+    }
+
+    private BaseResponse<Map<String, Integer>> response(String message) {
+        return BaseResponse.<Map<String, Integer>>builder()
+                .data(Map.of(
+                        "tokens", revocationRegistry.getRevokedTokenCount(),
+                        "subjects", revocationRegistry.getRevokedSubjectCount()))
+                .timestamp(Instant.now())
+                .message(message)
+                .build();
+    }
+}
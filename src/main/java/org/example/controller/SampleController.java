@@ -1,11 +1,11 @@
 package org.example.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.config.KeycloakPrincipal;
 import org.example.service.Test;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -40,9 +40,8 @@ public class SampleController {
     }
 
     @GetMapping("/me")
-    public Object getMe() {
-        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        return authentication.getName();
+    public Object getMe(@AuthenticationPrincipal KeycloakPrincipal principal) {
+        return principal.getName();
     }
 
     @GetMapping("/test")
@@ -0,0 +1,52 @@
+package org.example.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.dto.BaseResponse;
+import org.example.service.UserSyncRegistry;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Incremental updates of synchronized users.
+ */
+@RestController
+@RequestMapping("/api/admin/user-sync")
+@RequiredArgsConstructor
+public class UserSyncController {
+    private final UserSyncRegistry userSyncRegistry;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public BaseResponse<Integer> getSize() {
+        return response(userSyncRegistry.size(), "Synchronized users count");
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public BaseResponse<Integer> add(@RequestBody Set<UUID> userIds) {
+        return response(userSyncRegistry.add(userIds), "Added users count");
+    }
+
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public BaseResponse<Integer> remove(@RequestBody Set<UUID> userIds) {
+        return response(userSyncRegistry.remove(userIds), "Removed users count");
+    }
+
+    private static BaseResponse<Integer> response(int count, String message) {
+        return BaseResponse.<Integer>builder()
+                .data(count)
+                .timestamp(Instant.now())
+                .message(message)
+                .build();
+    }
+}
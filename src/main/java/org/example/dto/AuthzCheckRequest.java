@@ -0,0 +1,20 @@
+package org.example.dto;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Batch of authorization questions.
+ *
+ * @param tokens bearer tokens to decide for, caller's own authentication if empty
+ * @param checks questions, same for each token
+ */
+public record AuthzCheckRequest(@Nullable List<String> tokens, List<Check> checks) {
+    /**
+     * @param resource request path, e.g. {@code /api/admin}
+     * @param action   request method, e.g. {@code GET}
+     */
+    public record Check(String resource, String action) {
+    }
+}
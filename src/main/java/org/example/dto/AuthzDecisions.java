@@ -0,0 +1,13 @@
+package org.example.dto;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Decisions for one token of {@link AuthzCheckRequest}.
+ *
+ * @param subject token subject, {@code null} when token rejected
+ * @param allowed one char per check in request order, {@code 1} allowed and {@code 0} denied
+ * @param error   why token rejected, all checks denied then
+ */
+public record AuthzDecisions(@Nullable String subject, String allowed, @Nullable String error) {
+}
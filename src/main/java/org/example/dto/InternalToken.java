@@ -0,0 +1,12 @@
+package org.example.dto;
+
+import java.time.Instant;
+
+/**
+ * Internal service token exchanged for Keycloak token.
+ *
+ * @param token     bearer token value
+ * @param expiresAt token expiration, never after expiration of exchanged token
+ */
+public record InternalToken(String token, Instant expiresAt) {
+}
@@ -0,0 +1,14 @@
+package org.example.dto;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Revocation of all subject's tokens issued at or before given time.
+ *
+ * @param subject      token {@code sub}
+ * @param issuedBefore revocation time, now if absent
+ */
+public record SubjectRevocation(String subject, @Nullable Instant issuedBefore) {
+}
@@ -0,0 +1,14 @@
+package org.example.dto;
+
+import org.springframework.lang.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Revocation of single token.
+ *
+ * @param jti       token id
+ * @param expiresAt token {@code exp}, without it revocation kept for max token lifetime
+ */
+public record TokenRevocation(String jti, @Nullable Instant expiresAt) {
+}
@@ -0,0 +1,31 @@
+package org.example.exception;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.Set;
+
+/**
+ * Stackless {@link CustomAppException} for expected client errors (4xx), cheap to create and log.
+ */
+public class ClientErrorException extends CustomAppException {
+    /**
+     * Generate exception with selected {@link HttpStatus} code.
+     *
+     * @param httpStatus {@link HttpStatus} as code and title http response
+     * @param message    text message,error description
+     */
+    public ClientErrorException(HttpStatus httpStatus, String message) {
+        this(httpStatus, message, null);
+    }
+
+    /**
+     * Generate exception with selected {@link HttpStatus} code.
+     *
+     * @param httpStatus {@link HttpStatus} as code and title http response
+     * @param message    text message,error description
+     * @param errors     for chain errors in response message;
+     */
+    public ClientErrorException(HttpStatus httpStatus, String message, Set<String> errors) {
+        super(httpStatus, message, errors, null, false);
+    }
+}
@@ -111,7 +111,20 @@ public class CustomAppException extends RuntimeException {
      * @param throwable  for chain errors in error log;
      */
     public CustomAppException(HttpStatus httpStatus, String message, Set<String> errors, Throwable throwable) {
-        super(message, throwable);
+        this(httpStatus, message, errors, throwable, true);
+    }
+
+    /**
+     * Generate exception with selected {@link HttpStatus} code.
+     *
+     * @param httpStatus         {@link HttpStatus} as code and title http response
+     * @param message            text message,error description
+     * @param errors             for chain errors in response message;
+     * @param throwable          for chain errors in error log;
+     * @param writableStackTrace fill stack trace, disable for expected errors used only as typed http response
+     */
+    protected CustomAppException(HttpStatus httpStatus, String message, Set<String> errors, Throwable throwable, boolean writableStackTrace) {
+        super(message, throwable, true, writableStackTrace);
         this.httpStatus = httpStatus;
         this.errors = errors;
     }
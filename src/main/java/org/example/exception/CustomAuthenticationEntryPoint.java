@@ -1,8 +1,9 @@
 package org.example.exception;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.metrics.AuthMetrics;
 import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
@@ -13,13 +14,14 @@ import java.io.IOException;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint {
+    private final ErrorResponseWriter errorResponseWriter;
+    private final AuthMetrics authMetrics;
+
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException) throws IOException, ServletException {
-        if (SecurityContextHolder.getContext() != null) {
-            System.out.println("AU >: " + SecurityContextHolder.getContext().getAuthentication());
-            System.out.println("PR >: " + SecurityContextHolder.getContext().getAuthentication().getPrincipal());
-        }
-        response.sendError(HttpServletResponse.SC_UNAUTHORIZED, authException.getLocalizedMessage());
+        authMetrics.unauthorized(authException);
+        errorResponseWriter.unauthorized(response, authException.getLocalizedMessage());
     }
 }
@@ -0,0 +1,107 @@
+package org.example.exception;
+
+import org.example.config.properties.ErrorProperties;
+import org.slf4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-window limit of logged errors per exception type and path. Over limit occurrences only counted per type.
+ */
+@Component
+public class ErrorLogLimiter {
+    private static final String ERRORS_FOR_PATH = "errors {} for path {}";
+
+    private final ErrorProperties.Logging properties;
+    private final long intervalNanos;
+    private final Map<Key, Window> windows = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> suppressed = new ConcurrentHashMap<>();
+
+    public ErrorLogLimiter(ErrorProperties errorProperties) {
+        this.properties = errorProperties.getLogging();
+        this.intervalNanos = properties.getInterval().toNanos();
+    }
+
+    public boolean isLimited() {
+        return properties.getMode() == ErrorProperties.Mode.LIMITED;
+    }
+
+    /**
+     * @param type exception type name or other error kind
+     * @param path request path
+     *
+     * @return     {@code true} if occurrence should be logged, otherwise it counted as suppressed
+     */
+    public boolean tryLog(String type, String path) {
+        if (!isLimited())
+            return true;
+        final Key key = windows.size() < properties.getMaxTrackedPaths() ? new Key(type, path) : new Key(type, null);
+        if (windows.computeIfAbsent(key, k -> new Window()).tryAcquire(System.nanoTime()))
+            return true;
+        suppressed.computeIfAbsent(type, k -> new LongAdder()).increment();
+        return false;
+    }
+
+    /**
+     * @param clientError error has 4xx status
+     *
+     * @return            log with stack trace
+     */
+    public boolean withStackTrace(boolean clientError) {
+        return !isLimited() || !clientError || properties.isClientErrorStackTraces();
+    }
+
+    /**
+     * Log error with full stack trace or, in limited mode, within per type and path limit.
+     * 4xx errors in limited mode logged at warn level without stack trace.
+     *
+     * @param log     logger of calling handler
+     * @param e       error, {@code null} if only status known
+     * @param status  response status
+     * @param message logged message
+     * @param path    request path
+     */
+    public void log(Logger log, Throwable e, HttpStatus status, Object message, String path) {
+        if (!log.isErrorEnabled())
+            return;
+        if (!isLimited()) {
+            log.error(ERRORS_FOR_PATH, message, path, e);
+            return;
+        }
+        if (!tryLog(e != null ? e.getClass().getName() : "HTTP_" + status.value(), path))
+            return;
+        if (withStackTrace(status.is4xxClientError()))
+            log.error(ERRORS_FOR_PATH, message, path, e);
+        else
+            log.warn(ERRORS_FOR_PATH, message, path);
+    }
+
+    public Map<String, Long> getSuppressedCounts() {
+        final Map<String, Long> result = new HashMap<>();
+        suppressed.forEach((type, count) -> result.put(type, count.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    private record Key(String type, String path) {
+    }
+
+    private class Window {
+        private final AtomicLong start = new AtomicLong(System.nanoTime());
+        private final AtomicInteger count = new AtomicInteger();
+
+        boolean tryAcquire(long now) {
+            final long windowStart = start.get();
+            if (now - windowStart >= intervalNanos && start.compareAndSet(windowStart, now))
+                count.set(0);
+            return count.incrementAndGet() <= properties.getLimitPerInterval();
+        }
+    }
+}
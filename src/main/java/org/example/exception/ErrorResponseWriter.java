@@ -0,0 +1,74 @@
+package org.example.exception;
+
+import lombok.RequiredArgsConstructor;
+import org.example.config.properties.ErrorProperties;
+import org.example.dto.BaseResponse;
+import org.example.util.BaseResponseWriter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Writes {@link BaseResponse} errors straight from filters, same body as {@link GlobalExceptionHandler#handleError}
+ * produces, but without {@code sendError} and second dispatch through filter chain.
+ */
+@Component
+@RequiredArgsConstructor
+public class ErrorResponseWriter {
+    private static final String FIELD_ERROR_SEPARATOR = ": ";
+    private static final String RATE_LIMIT_EXCEEDED = "Rate limit exceeded";
+
+    private final BaseResponseWriter baseResponseWriter;
+    private final ErrorProperties errorProperties;
+
+    /**
+     * @param response    current response
+     * @param fullMessage authentication exception message
+     */
+    public void unauthorized(HttpServletResponse response, String fullMessage) throws IOException {
+        if (errorProperties.isDirectWrite())
+            write(response, HttpStatus.UNAUTHORIZED, getUnauthorizedError(fullMessage));
+        else
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, fullMessage);
+    }
+
+    /**
+     * @param response current response
+     * @param username not synchronized user name
+     */
+    public void userNotSynchronized(HttpServletResponse response, Object username) throws IOException {
+        if (errorProperties.isDirectWrite())
+            write(response, HttpStatus.FORBIDDEN, getNotSynchronizedError(username));
+        else
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, String.valueOf(username));
+    }
+
+    /**
+     * @param response          current response
+     * @param retryAfterSeconds value of {@code Retry-After} header
+     */
+    public void tooManyRequests(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        if (errorProperties.isDirectWrite())
+            write(response, HttpStatus.TOO_MANY_REQUESTS, RATE_LIMIT_EXCEEDED);
+        else
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), RATE_LIMIT_EXCEEDED);
+    }
+
+    public void write(HttpServletResponse response, HttpStatus status, String error) throws IOException {
+        baseResponseWriter.writeError(response, status, Instant.now(), error);
+    }
+
+    public static String getUnauthorizedError(String fullMessage) {
+        final int index = fullMessage.indexOf(FIELD_ERROR_SEPARATOR);
+        return index < 0 ? fullMessage : fullMessage.substring(index + FIELD_ERROR_SEPARATOR.length());
+    }
+
+    public static String getNotSynchronizedError(Object username) {
+        return "Yours user (" + username + ") not synchronized yet.";
+    }
+}
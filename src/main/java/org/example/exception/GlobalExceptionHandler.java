@@ -3,6 +3,7 @@ package org.example.exception;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.dto.BaseResponse;
+import org.example.metrics.AuthMetrics;
 import org.example.util.Utils;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.boot.web.servlet.error.ErrorController;
@@ -10,6 +11,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Controller;
@@ -41,21 +43,24 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler implements ErrorController {
     private static final String FIELD_ERROR_SEPARATOR = ": ";
-    private static final String ERRORS_FOR_PATH = "errors {} for path {}";
+
+    private final ErrorLogLimiter errorLogLimiter;
+    private final AuthMetrics authMetrics;
 
     @GetMapping("/error")
     public ResponseEntity<?> handleError(HttpServletRequest request) {
+        final long started = System.nanoTime();
         final HttpStatus httpStatus = HttpStatus.valueOf((int) request.getAttribute(RequestDispatcher.ERROR_STATUS_CODE));
-        if (log.isErrorEnabled())
-            log.error(ERRORS_FOR_PATH, request.getAttribute(RequestDispatcher.ERROR_MESSAGE),
-                    request.getAttribute(RequestDispatcher.FORWARD_REQUEST_URI), request.getAttribute(RequestDispatcher.ERROR_EXCEPTION));
+        final Object exception = request.getAttribute(RequestDispatcher.ERROR_EXCEPTION);
+        errorLogLimiter.log(log, exception instanceof Throwable throwable ? throwable : null, httpStatus,
+                request.getAttribute(RequestDispatcher.ERROR_MESSAGE), String.valueOf(request.getAttribute(RequestDispatcher.FORWARD_REQUEST_URI)));
 
         final BaseResponse<Object> data  = BaseResponse.builder()
                 .timestamp(Instant.now())
                 .errors(Set.of(
                         switch (httpStatus) {
-                            case UNAUTHORIZED -> getSimpleMessage(request.getAttribute(RequestDispatcher.ERROR_MESSAGE).toString());
-                            case FORBIDDEN -> "Yours user (" + request.getAttribute(RequestDispatcher.ERROR_MESSAGE) + ") not synchronized yet.";
+                            case UNAUTHORIZED -> ErrorResponseWriter.getUnauthorizedError(request.getAttribute(RequestDispatcher.ERROR_MESSAGE).toString());
+                            case FORBIDDEN -> ErrorResponseWriter.getNotSynchronizedError(request.getAttribute(RequestDispatcher.ERROR_MESSAGE));
                             default -> httpStatus.getReasonPhrase();
                         }))
                 .message(Utils.getMessageForStatus(httpStatus))
@@ -63,6 +68,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler imple
                         ? request.getAttribute(RequestDispatcher.ERROR_EXCEPTION_TYPE).toString()
                         : null)
                 .build();
+        authMetrics.record(AuthMetrics.Stage.ERROR_DISPATCH, started);
         return ResponseEntity.status(httpStatus).body(data);
     }
 
@@ -150,6 +156,22 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler imple
         return getExceptionResponseEntity(e, status, e.getMessage(), errors, request);
     }
 
+    /**
+     * Catch {@link AccessDeniedException} exceptions and return custom response with {@link BaseResponse}.
+     * Get when method security or handler authorization rules reject request.
+     *
+     * @param e       exception data
+     * @param request contains request uri
+     *
+     * @return        {@code ResponseEntity} with BaseResponse
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Object> handleAccessDenied(AccessDeniedException e, WebRequest request) {
+        final HttpStatus status = HttpStatus.FORBIDDEN;
+        authMetrics.failure(AuthMetrics.Failure.ACCESS_DENIED);
+        return getExceptionResponseEntity(e, status, Utils.getMessageForStatus(status), getErrors(e), request);
+    }
+
     /**
      * Catch all other exceptions and return custom response with {@link BaseResponse}
      *
@@ -176,9 +198,7 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler imple
     }
 
     private ResponseEntity<Object> getExceptionResponseEntity(final Exception e, final HttpStatus status, final String message, final Set<String> errors, WebRequest request) {
-        final String path = request.getDescription(false);
-        if (log.isErrorEnabled())
-            log.error(ERRORS_FOR_PATH, e.getMessage(), path, e);
+        errorLogLimiter.log(log, e, status, e.getMessage(), request.getDescription(false));
         final BaseResponse<?> response = BaseResponse.builder()
                 .timestamp(Instant.now())
                 .message(message)
@@ -187,8 +207,4 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler imple
                 .build();
         return ResponseEntity.status(status).body(response);
     }
-
-    private String getSimpleMessage(String fullMessage) {
-        return fullMessage.substring(fullMessage.indexOf(FIELD_ERROR_SEPARATOR) + 2);
-    }
 }
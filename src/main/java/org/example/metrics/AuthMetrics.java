@@ -0,0 +1,162 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.audit.AuthAuditLog;
+import org.example.config.RevocationCheckingJwtDecoder;
+import org.example.util.TokenCache;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Authentication chain metrics. All meters registered upfront, so recording is array lookup without allocation.
+ */
+@Component
+public class AuthMetrics {
+    public static final String STAGE_TIMER = "keycloak.auth.stage";
+    public static final String FAILURES = "keycloak.auth.failures";
+    public static final String CACHE_HITS = "keycloak.auth.cache.hits";
+    public static final String CACHE_MISSES = "keycloak.auth.cache.misses";
+    public static final String CACHE_SIZE = "keycloak.auth.cache.size";
+    public static final String JWKS_REFRESHES = "keycloak.auth.jwks.refreshes";
+    public static final String AUDIT_DROPPED = "keycloak.auth.audit.dropped";
+
+    private final MeterRegistry registry;
+    private final Timer[] timers;
+    private final Counter[] failures;
+
+    public AuthMetrics(MeterRegistry registry, AuthAuditLog authAuditLog) {
+        this.registry = registry;
+        this.timers = new Timer[Stage.values().length];
+        for (Stage stage : Stage.values()) {
+            timers[stage.ordinal()] = Timer.builder(STAGE_TIMER)
+                    .description("Authentication chain stage time")
+                    .tag("stage", stage.tagValue)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        this.failures = new Counter[Failure.values().length];
+        for (Failure failure : Failure.values()) {
+            failures[failure.ordinal()] = Counter.builder(FAILURES)
+                    .description("Rejected requests by cause")
+                    .tag("status", String.valueOf(failure.status))
+                    .tag("cause", failure.tagValue)
+                    .register(registry);
+        }
+        FunctionCounter.builder(AUDIT_DROPPED, authAuditLog, AuthAuditLog::getDroppedCount)
+                .description("Audit events dropped on full buffer")
+                .register(registry);
+    }
+
+    /**
+     * @param stage        measured stage
+     * @param startedNanos {@link System#nanoTime()} at stage start
+     */
+    public void record(Stage stage, long startedNanos) {
+        timers[stage.ordinal()].record(System.nanoTime() - startedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void failure(Failure failure) {
+        failures[failure.ordinal()].increment();
+    }
+
+    public void unauthorized(AuthenticationException e) {
+        if (e instanceof AuthenticationCredentialsNotFoundException || e instanceof InsufficientAuthenticationException)
+            failure(Failure.MISSING_TOKEN);
+        else if (e instanceof InvalidBearerTokenException && e.getMessage() != null && e.getMessage().contains("expired"))
+            failure(Failure.EXPIRED_TOKEN);
+        else if (e instanceof InvalidBearerTokenException && e.getMessage() != null && e.getMessage().contains(RevocationCheckingJwtDecoder.REVOKED_MESSAGE))
+            failure(Failure.REVOKED_TOKEN);
+        else if (e instanceof InvalidBearerTokenException)
+            failure(Failure.INVALID_TOKEN);
+        else
+            failure(Failure.OTHER);
+    }
+
+    public Timer getTimer(Stage stage) {
+        return timers[stage.ordinal()];
+    }
+
+    public Counter getCounter(Failure failure) {
+        return failures[failure.ordinal()];
+    }
+
+    /**
+     * Register hit/miss/size meters of cache.
+     *
+     * @param name  cache tag value
+     * @param cache cache to observe
+     */
+    public void bindCache(String name, TokenCache<?, ?> cache) {
+        functionCounter(CACHE_HITS, name, cache, TokenCache::getHits);
+        functionCounter(CACHE_MISSES, name, cache, TokenCache::getMisses);
+        Gauge.builder(CACHE_SIZE, cache, TokenCache::size).tag("cache", name).register(registry);
+    }
+
+    public <T> void bindRefreshes(String source, T target, ToDoubleFunction<T> refreshes, ToDoubleFunction<T> failedRefreshes) {
+        FunctionCounter.builder(JWKS_REFRESHES, target, refreshes).tag("source", source).tag("result", "all").register(registry);
+        FunctionCounter.builder(JWKS_REFRESHES, target, failedRefreshes).tag("source", source).tag("result", "failed").register(registry);
+    }
+
+    private <T> void functionCounter(String name, String cacheName, T target, ToDoubleFunction<T> count) {
+        FunctionCounter.builder(name, target, count).tag("cache", cacheName).register(registry);
+    }
+
+    public enum Stage {
+        BEARER("bearer"),
+        DECODE("decode"),
+        VERIFY("verify"),
+        INTROSPECT("introspect"),
+        INTERNAL_VERIFY("internal-verify"),
+        CONVERT("convert"),
+        USER_VALIDATION("user-validation"),
+        ERROR_DISPATCH("error-dispatch");
+
+        private final String tagValue;
+
+        Stage(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        public String getTagValue() {
+            return tagValue;
+        }
+    }
+
+    public enum Failure {
+        MISSING_TOKEN(401, "missing_token"),
+        EXPIRED_TOKEN(401, "expired_token"),
+        REVOKED_TOKEN(401, "revoked_token"),
+        INVALID_TOKEN(401, "invalid_token"),
+        OTHER(401, "other"),
+        NOT_SYNCHRONIZED(403, "not_synchronized"),
+        ACCESS_DENIED(403, "access_denied"),
+        RATE_LIMITED(429, "rate_limited");
+
+        private final int status;
+        private final String tagValue;
+
+        Failure(int status, String tagValue) {
+            this.status = status;
+            this.tagValue = tagValue;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getTagValue() {
+            return tagValue;
+        }
+    }
+}
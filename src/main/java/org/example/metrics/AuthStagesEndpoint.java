@@ -0,0 +1,68 @@
+package org.example.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.example.exception.ErrorLogLimiter;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summary of authentication chain metrics: per stage latency, rejection causes, caches and JWKS refreshes.
+ */
+@Component
+@Endpoint(id = "authstages")
+@RequiredArgsConstructor
+public class AuthStagesEndpoint {
+    private final AuthMetrics authMetrics;
+    private final MeterRegistry meterRegistry;
+    private final ErrorLogLimiter errorLogLimiter;
+
+    @ReadOperation
+    public Map<String, Object> stages() {
+        final Map<String, Object> stages = new LinkedHashMap<>();
+        for (AuthMetrics.Stage stage : AuthMetrics.Stage.values()) {
+            final Timer timer = authMetrics.getTimer(stage);
+            final HistogramSnapshot snapshot = timer.takeSnapshot();
+            final Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", snapshot.count());
+            values.put("meanMicros", snapshot.mean(TimeUnit.MICROSECONDS));
+            values.put("maxMicros", snapshot.max(TimeUnit.MICROSECONDS));
+            for (ValueAtPercentile percentile : snapshot.percentileValues())
+                values.put("p" + percentile.percentile() * 100 + "Micros", percentile.value(TimeUnit.MICROSECONDS));
+            stages.put(stage.getTagValue(), values);
+        }
+
+        final Map<String, Object> failures = new LinkedHashMap<>();
+        for (AuthMetrics.Failure failure : AuthMetrics.Failure.values()) {
+            final Counter counter = authMetrics.getCounter(failure);
+            failures.put(failure.getStatus() + "." + failure.getTagValue(), (long) counter.count());
+        }
+
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("stages", stages);
+        result.put("failures", failures);
+        result.put("caches", functionCounters("cache", AuthMetrics.CACHE_HITS, AuthMetrics.CACHE_MISSES));
+        result.put("jwksRefreshes", functionCounters("result", AuthMetrics.JWKS_REFRESHES));
+        result.put("suppressedErrorLogs", errorLogLimiter.getSuppressedCounts());
+        return result;
+    }
+
+    private Map<String, Object> functionCounters(String tag, String... names) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        for (String name : names) {
+            for (FunctionCounter counter : meterRegistry.find(name).functionCounters())
+                result.put(name.substring(name.lastIndexOf('.') + 1) + "." + counter.getId().getTag(tag), (long) counter.count());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.metrics;
+
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Records bearer token extraction time.
+ */
+public class TimedBearerTokenResolver implements BearerTokenResolver {
+    private final BearerTokenResolver delegate;
+    private final AuthMetrics authMetrics;
+
+    public TimedBearerTokenResolver(BearerTokenResolver delegate, AuthMetrics authMetrics) {
+        this.delegate = delegate;
+        this.authMetrics = authMetrics;
+    }
+
+    @Override
+    public String resolve(HttpServletRequest request) {
+        final long started = System.nanoTime();
+        try {
+            return delegate.resolve(request);
+        } finally {
+            authMetrics.record(AuthMetrics.Stage.BEARER, started);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.metrics;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Records {@link JwtDecoder} time as authentication stage.
+ */
+public class TimedJwtDecoder implements JwtDecoder {
+    private final JwtDecoder delegate;
+    private final AuthMetrics authMetrics;
+    private final AuthMetrics.Stage stage;
+
+    public TimedJwtDecoder(JwtDecoder delegate, AuthMetrics authMetrics, AuthMetrics.Stage stage) {
+        this.delegate = delegate;
+        this.authMetrics = authMetrics;
+        this.stage = stage;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        final long started = System.nanoTime();
+        try {
+            return delegate.decode(token);
+        } finally {
+            authMetrics.record(stage, started);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.authorization.RoleMaskAware;
+import org.example.authorization.RoleRegistry;
+import org.example.config.KeycloakPrincipal;
+import org.example.config.properties.RateLimitProperties;
+import org.example.config.properties.RoleProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per rule and subject (or client) in GCRA form: bucket is single {@link AtomicLong} with theoretical
+ * arrival time, acquire is one CAS without locks. Buckets live in {@link ConcurrentHashMap}, so cost of acquire
+ * doesn't depend on count of subjects. Buckets with arrival time in past are full, equal to absent ones,
+ * and removed in background.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "keycloak.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimiter {
+    private static final String AUTHORIZED_PARTY = "azp";
+
+    private final Rule[] rules;
+    private final long evictionIntervalMillis;
+    private ScheduledExecutorService scheduler;
+
+    public RateLimiter(RateLimitProperties properties, RoleProperties roleProperties, RoleRegistry roleRegistry) {
+        final AntPathMatcher pathMatcher = new AntPathMatcher();
+        this.rules = properties.getRules().stream()
+                .map(rule -> new Rule(rule, pathMatcher, getAuthority(rule.getRole(), roleProperties.getPrefix()), roleRegistry))
+                .toArray(Rule[]::new);
+        this.evictionIntervalMillis = properties.getEvictionInterval().toMillis();
+    }
+
+    @PostConstruct
+    public void start() {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("rate-limit-eviction-");
+        threadFactory.setDaemon(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduler.scheduleWithFixedDelay(() -> evictIdle(System.nanoTime()), evictionIntervalMillis, evictionIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null)
+            scheduler.shutdownNow();
+    }
+
+    /**
+     * @param authentication authenticated request
+     * @param path           path within application
+     *
+     * @return               0 if request allowed, otherwise nanos until next request of subject allowed
+     */
+    public long tryAcquire(Authentication authentication, String path) {
+        for (Rule rule : rules) {
+            if (rule.matches(authentication, path)) {
+                final String key = getKey(authentication, rule.key);
+                return key == null ? 0 : rule.tryAcquire(key, System.nanoTime());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @param nowNanos current {@link System#nanoTime()}
+     *
+     * @return         removed buckets count
+     */
+    public int evictIdle(long nowNanos) {
+        int removed = 0;
+        for (Rule rule : rules) {
+            final int before = rule.buckets.size();
+            // concurrent acquire on removed bucket may be lost, subject then gets full bucket which it had almost anyway
+            rule.buckets.values().removeIf(bucket -> bucket.get() - nowNanos <= 0);
+            removed += before - rule.buckets.size();
+        }
+        if (removed > 0)
+            log.debug("Evicted {} idle rate limit buckets", removed);
+        return removed;
+    }
+
+    public int getBucketCount() {
+        int count = 0;
+        for (Rule rule : rules)
+            count += rule.buckets.size();
+        return count;
+    }
+
+    private static String getKey(Authentication authentication, RateLimitProperties.Key key) {
+        if (authentication.getPrincipal() instanceof KeycloakPrincipal principal) {
+            if (key == RateLimitProperties.Key.CLIENT) {
+                final Object client = principal.getAttributes().get(AUTHORIZED_PARTY);
+                return client != null ? client.toString() : null;
+            }
+            return principal.getSubject();
+        }
+        return key == RateLimitProperties.Key.SUBJECT ? authentication.getName() : null;
+    }
+
+    private static String getAuthority(String role, String prefix) {
+        if (!StringUtils.hasText(role))
+            return null;
+        return prefix != null && !role.startsWith(prefix) ? prefix + role : role;
+    }
+
+    private static final class Rule {
+        private final String path;
+        private final AntPathMatcher pathMatcher;
+        private final String authority;
+        private final long roleBit;
+        private final RateLimitProperties.Key key;
+        private final long emissionNanos;
+        private final long toleranceNanos;
+        private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+        Rule(RateLimitProperties.Rule rule, AntPathMatcher pathMatcher, String authority, RoleRegistry roleRegistry) {
+            this.path = StringUtils.hasText(rule.getPath()) ? rule.getPath() : null;
+            this.pathMatcher = pathMatcher;
+            this.authority = authority;
+            this.roleBit = authority != null ? roleRegistry.register(authority) : 0;
+            this.key = rule.getKey();
+            this.emissionNanos = Math.max(1, rule.getPeriod().toNanos() / Math.max(1, rule.getRequests()));
+            final int burst = rule.getBurst() > 0 ? rule.getBurst() : rule.getRequests();
+            this.toleranceNanos = emissionNanos * Math.max(1, burst);
+        }
+
+        boolean matches(Authentication authentication, String requestPath) {
+            if (path != null && !pathMatcher.match(path, requestPath))
+                return false;
+            if (authority == null)
+                return true;
+            if (authentication instanceof RoleMaskAware roleMaskAware)
+                return (roleMaskAware.getRoleMask() & roleBit) != 0;
+            for (GrantedAuthority grantedAuthority : authentication.getAuthorities()) {
+                if (authority.equals(grantedAuthority.getAuthority()))
+                    return true;
+            }
+            return false;
+        }
+
+        long tryAcquire(String subject, long now) {
+            AtomicLong bucket = buckets.get(subject);
+            if (bucket == null) {
+                final AtomicLong created = new AtomicLong(now);
+                bucket = buckets.putIfAbsent(subject, created);
+                if (bucket == null)
+                    bucket = created;
+            }
+            while (true) {
+                final long arrival = bucket.get();
+                final long next = (arrival - now > 0 ? arrival : now) + emissionNanos;
+                final long wait = next - now - toleranceNanos;
+                if (wait > 0)
+                    return wait;
+                if (bucket.compareAndSet(arrival, next))
+                    return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.authorization.PathAuthorizationManager;
+import org.example.authorization.PathRuleTrie;
+import org.example.authorization.RoleRegistry;
+import org.example.authorization.RoleRule;
+import org.example.authorization.RoleRuleParser;
+import org.example.config.CachingOpaqueTokenIntrospector;
+import org.example.config.KeycloakJwtAuthenticationConverter;
+import org.example.config.properties.AuthorizationProperties;
+import org.example.config.properties.AuthzCheckProperties;
+import org.example.config.properties.IntrospectionProperties;
+import org.example.config.properties.UserSyncProperties;
+import org.example.dto.AuthzCheckRequest;
+import org.example.dto.AuthzDecisions;
+import org.example.exception.ClientErrorException;
+import org.example.util.Utils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.OpaqueTokenAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.introspection.OpaqueTokenIntrospector;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.IntConsumer;
+
+/**
+ * Batch authorization checks: each token verified once, each check resolved once to path rule and handler rule
+ * (as {@link PathAuthorizationManager} and {@code @PreAuthorize} / {@link org.example.authorization.RequireRoles}
+ * would decide for real request), then decisions are bit operations on token role mask. Large batches verified
+ * and resolved in chunks on own bounded executor, request thread taking first chunk and any chunk executor rejects.
+ * Checks without handler or with handler rule not compilable to roles are denied, as are all checks of user not
+ * synchronized yet (with user sync enabled), matching {@code UserValidationFilter}.
+ * <p>
+ * Handler rules compiled with other startup rules, so roles they register are in masks of converted tokens.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "keycloak.authz-check", name = "enabled", havingValue = "true")
+public class AuthzCheckService implements SmartInitializingSingleton {
+    private static final Rule DENIED = new Rule(null, null);
+
+    private final AuthzCheckProperties properties;
+    private final RoleRegistry roleRegistry;
+    private final BiFunction<String, String, RoleRule> pathRules;
+    private final AuthenticationProvider jwtProvider;
+    private final AuthenticationProvider opaqueTokenProvider;
+    private final InternalTokenService internalTokens;
+    private final UserSyncProperties userSyncProperties;
+    private final UserSyncRegistry userSyncRegistry;
+    private final ApplicationContext context;
+    private final PathRuleTrie<HandlerRule> handlerRules = new PathRuleTrie<>();
+    private final ThreadPoolExecutor executor;
+
+    public AuthzCheckService(AuthzCheckProperties properties, AuthorizationProperties authorizationProperties, RoleRegistry roleRegistry,
+                             ObjectProvider<PathAuthorizationManager> pathAuthorizationManager, JwtDecoder jwtDecoder,
+                             KeycloakJwtAuthenticationConverter converter, IntrospectionProperties introspectionProperties,
+                             ObjectProvider<CachingOpaqueTokenIntrospector> introspector,
+                             ObjectProvider<InternalTokenService> internalTokenService, UserSyncProperties userSyncProperties,
+                             UserSyncRegistry userSyncRegistry, ApplicationContext context) {
+        this.properties = properties;
+        this.roleRegistry = roleRegistry;
+        final PathAuthorizationManager pathAuthorization = pathAuthorizationManager.getIfAvailable();
+        this.pathRules = pathAuthorization != null ? pathAuthorization::getRule : antPathRules(authorizationProperties.getPathRules());
+        final JwtAuthenticationProvider jwtAuthenticationProvider = new JwtAuthenticationProvider(jwtDecoder);
+        jwtAuthenticationProvider.setJwtAuthenticationConverter(converter);
+        this.jwtProvider = jwtAuthenticationProvider;
+        final OpaqueTokenIntrospector opaqueTokenIntrospector = introspectionProperties.isEnabled() ? introspector.getIfAvailable() : null;
+        this.opaqueTokenProvider = opaqueTokenIntrospector == null ? null : new OpaqueTokenAuthenticationProvider(opaqueTokenIntrospector);
+        this.internalTokens = internalTokenService.getIfAvailable();
+        this.userSyncProperties = userSyncProperties;
+        this.userSyncRegistry = userSyncRegistry;
+        this.context = context;
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("authz-check-");
+        threadFactory.setDaemon(true);
+        final int threads = Math.max(1, properties.getThreads());
+        // rejected chunks, also after shutdown, run on request thread
+        this.executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(Math.max(1, properties.getQueueCapacity())), threadFactory, (task, pool) -> task.run());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        final RoleRuleParser parser = new RoleRuleParser(roleRegistry);
+        context.getBean("requestMappingHandlerMapping", RequestMappingHandlerMapping.class).getHandlerMethods().forEach((info, handlerMethod) -> {
+            HandlerRule rule;
+            try {
+                rule = new HandlerRule(parser.parse(handlerMethod), true);
+            } catch (IllegalArgumentException e) {
+                log.warn("Authorization rule of {} not supported by checks, denied: {}", handlerMethod, e.getMessage());
+                rule = new HandlerRule(null, false);
+            }
+            final HttpMethod[] methods = info.getMethodsCondition().getMethods().stream()
+                    .map(method -> HttpMethod.valueOf(method.name()))
+                    .toArray(HttpMethod[]::new);
+            for (String pattern : info.getPatternValues()) {
+                for (HttpMethod method : methods.length == 0 ? new HttpMethod[] {null} : methods) {
+                    try {
+                        handlerRules.add(method, pattern, rule, handlerMethod.toString());
+                    } catch (IllegalArgumentException | IllegalStateException e) {
+                        log.warn("Handler {} not used by authorization checks: {}", handlerMethod, e.getMessage());
+                    }
+                }
+            }
+        });
+        log.info("Compiled {} handler rules for authorization checks", handlerRules.size());
+    }
+
+    /**
+     * @param caller authentication of request, decided for when request has no tokens
+     *
+     * @return       decisions per token in request order
+     */
+    public List<AuthzDecisions> check(AuthzCheckRequest request, Authentication caller) {
+        final List<AuthzCheckRequest.Check> checks = request.checks() == null ? List.of() : request.checks();
+        final List<String> tokens = request.tokens() == null ? List.of() : request.tokens();
+        if (checks.isEmpty())
+            throw new ClientErrorException(HttpStatus.BAD_REQUEST, "No checks");
+        if (checks.size() > properties.getMaxChecks())
+            throw new ClientErrorException(HttpStatus.BAD_REQUEST, "Too many checks, max: " + properties.getMaxChecks());
+        if (tokens.size() > properties.getMaxTokens())
+            throw new ClientErrorException(HttpStatus.BAD_REQUEST, "Too many tokens, max: " + properties.getMaxTokens());
+
+        final Rule[] rules = new Rule[checks.size()];
+        forEach(checks.size(), properties.getParallelChecks(), i -> rules[i] = resolve(checks.get(i)));
+        if (tokens.isEmpty())
+            return List.of(decide(caller, rules));
+
+        final AuthzDecisions[] decisions = new AuthzDecisions[tokens.size()];
+        forEach(tokens.size(), properties.getParallelTokens(), i -> decisions[i] = decide(tokens.get(i), rules));
+        return List.of(decisions);
+    }
+
+    /**
+     * Runs {@code task} for indexes {@code [0, count)}, split to chunks per executor thread from {@code parallelFrom}.
+     */
+    private void forEach(int count, int parallelFrom, IntConsumer task) {
+        final int chunks = count < parallelFrom ? 1 : Math.max(1, Math.min(count, executor.getMaximumPoolSize() + 1));
+        final int chunkSize = (count + chunks - 1) / chunks;
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(chunks - 1);
+        for (int from = chunkSize; from < count; from += chunkSize) {
+            final int start = from;
+            final int end = Math.min(count, from + chunkSize);
+            futures.add(CompletableFuture.runAsync(() -> run(start, end, task), executor));
+        }
+        run(0, Math.min(count, chunkSize), task);
+        try {
+            futures.forEach(CompletableFuture::join);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    private static void run(int from, int to, IntConsumer task) {
+        for (int i = from; i < to; i++)
+            task.accept(i);
+    }
+
+    private Rule resolve(AuthzCheckRequest.Check check) {
+        if (check == null || check.resource() == null || check.action() == null)
+            return DENIED;
+        final HandlerRule handlerRule = handlerRules.resolve(check.action(), check.resource());
+        if (handlerRule == null || !handlerRule.supported())
+            return DENIED;
+        return new Rule(pathRules.apply(check.action(), check.resource()), handlerRule.rule());
+    }
+
+    /**
+     * Ant mode: same {@code path-rules} as {@code antMatchers} of security config, first matching rule in
+     * declaration order. Rules with access not compilable to roles resolve to {@code null}, denying checks.
+     */
+    private BiFunction<String, String, RoleRule> antPathRules(List<AuthorizationProperties.PathRule> rules) {
+        final RoleRuleParser parser = new RoleRuleParser(roleRegistry);
+        final List<AntPathRule> antRules = new ArrayList<>(rules.size());
+        for (AuthorizationProperties.PathRule rule : rules) {
+            RoleRule roleRule;
+            try {
+                roleRule = parser.parse(rule.getAccess());
+            } catch (IllegalArgumentException e) {
+                log.warn("Path rule {} {} not supported by authorization checks, denied: {}", rule.getPath(), rule.getAccess(), e.getMessage());
+                roleRule = null;
+            }
+            antRules.add(new AntPathRule(rule.getMethod() == null ? null : rule.getMethod().name(), rule.getPath(), roleRule));
+        }
+        final AntPathMatcher matcher = new AntPathMatcher();
+        return (method, path) -> {
+            for (AntPathRule rule : antRules) {
+                if ((rule.method() == null || rule.method().equals(method)) && matcher.match(rule.pattern(), path))
+                    return rule.rule();
+            }
+            return RoleRule.AUTHENTICATED;
+        };
+    }
+
+    private AuthzDecisions decide(String token, Rule[] rules) {
+        if (token == null || token.isBlank())
+            return rejected(rules, "Missing token");
+        final Authentication authentication;
+        try {
+            final BearerTokenAuthenticationToken bearer = new BearerTokenAuthenticationToken(token);
+            if (internalTokens != null && InternalTokenService.isInternalToken(token))
+                authentication = internalTokens.authenticate(token);
+            else if (opaqueTokenProvider == null || Utils.isJwt(token))
+                authentication = jwtProvider.authenticate(bearer);
+            else
+                authentication = opaqueTokenProvider.authenticate(bearer);
+        } catch (AuthenticationException e) {
+            return rejected(rules, e.getMessage());
+        }
+        return decide(authentication, rules);
+    }
+
+    private static AuthzDecisions rejected(Rule[] rules, String error) {
+        return rejected(null, rules, error);
+    }
+
+    private static AuthzDecisions rejected(String subject, Rule[] rules, String error) {
+        final char[] denied = new char[rules.length];
+        Arrays.fill(denied, '0');
+        return new AuthzDecisions(subject, new String(denied), error);
+    }
+
+    private AuthzDecisions decide(Authentication authentication, Rule[] rules) {
+        final boolean authenticated = authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken);
+        // as UserValidationFilter, which rejects any request of authenticated user not synchronized yet
+        if (authenticated && userSyncProperties.isEnabled() && !userSyncRegistry.isSynchronized(authentication))
+            return rejected(authentication.getName(), rules, "User not synchronized");
+        final long roleMask = authenticated ? roleRegistry.maskOf(authentication) : 0;
+        final char[] allowed = new char[rules.length];
+        for (int i = 0; i < rules.length; i++)
+            allowed[i] = rules[i].isGranted(authenticated, roleMask) ? '1' : '0';
+        return new AuthzDecisions(authenticated ? authentication.getName() : null, new String(allowed), null);
+    }
+
+    /**
+     * @param supported handler rule compiled, unsupported rules denied
+     */
+    private record HandlerRule(RoleRule rule, boolean supported) {
+    }
+
+    private record AntPathRule(String method, String pattern, RoleRule rule) {
+    }
+
+    /**
+     * Path rule and handler rule of check, both must grant. {@code null} path rule denies.
+     */
+    private record Rule(RoleRule path, RoleRule handler) {
+        boolean isGranted(boolean authenticated, long roleMask) {
+            return path != null && path.isGranted(authenticated, roleMask) && (handler == null || handler.isGranted(authenticated, roleMask));
+        }
+    }
+}
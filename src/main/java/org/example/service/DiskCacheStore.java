@@ -0,0 +1,255 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.DiskCacheProperties;
+import org.example.exception.CustomAppException;
+import org.example.util.Utils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Disk cache of per-user data on {@link Utils#getCachePath} layout ({@code root/<first 3 chars of uuid>/<uuid>}).
+ * Entries and existing shard directories indexed in memory, so lookups need no file system calls.
+ * Writes go to temp file renamed atomically, reads use NIO (memory mapped for big entries).
+ * Least recently used entries evicted over total size budget. Index rebuilt on startup by parallel shards scan.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "keycloak.disk-cache", name = "enabled", havingValue = "true")
+public class DiskCacheStore {
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final DiskCacheProperties properties;
+    private final Path root;
+    private final Map<UUID, Entry> index = new ConcurrentHashMap<>();
+    private final Set<String> shards = ConcurrentHashMap.newKeySet();
+    private final AtomicLong totalSize = new AtomicLong();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public DiskCacheStore(DiskCacheProperties properties) {
+        this.properties = properties;
+        this.root = Path.of(properties.getRoot()).toAbsolutePath();
+    }
+
+    @PostConstruct
+    public void rebuildIndex() throws IOException {
+        final long started = System.nanoTime();
+        Files.createDirectories(root);
+        final List<Path> shardDirs = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(root, Files::isDirectory)) {
+            stream.forEach(shardDirs::add);
+        }
+        index.clear();
+        shards.clear();
+        totalSize.set(0);
+        shardDirs.parallelStream().forEach(this::indexShard);
+        log.info("Disk cache index rebuilt: {} entries, {} bytes in {} ms",
+                index.size(), totalSize.get(), (System.nanoTime() - started) / 1_000_000);
+        evictIfNeeded();
+    }
+
+    /**
+     * @param uid entry id
+     *
+     * @return    entry content or {@code null} if absent
+     */
+    public ByteBuffer get(UUID uid) {
+        final Entry entry = index.get(uid);
+        if (entry == null)
+            return null;
+        entry.lastAccess = System.nanoTime();
+        final Path path = resolve(uid.toString());
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size >= properties.getMmapThreshold().toBytes())
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0)
+                    break;
+            }
+            return buffer.flip();
+        } catch (NoSuchFileException e) {
+            remove(uid, entry);
+            return null;
+        } catch (IOException e) {
+            throw new CustomAppException("Can't read cache entry: " + path, e);
+        }
+    }
+
+    public boolean contains(UUID uid) {
+        return index.containsKey(uid);
+    }
+
+    /**
+     * Store entry atomically: readers see old or new content, never partial one.
+     *
+     * @param uid  entry id
+     * @param data entry content
+     */
+    public void put(UUID uid, ByteBuffer data) {
+        final String uidStr = uid.toString();
+        final Path shardDir = getShardDir(uidStr);
+        final Path target = shardDir.resolve(uidStr);
+        final long size = data.remaining();
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile(shardDir, uidStr, TMP_SUFFIX);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                while (data.hasRemaining())
+                    channel.write(data);
+            }
+            final Path written = tmp;
+            // rename and index update atomic per uid, so concurrent eviction can't delete new file of old entry
+            index.compute(uid, (key, previous) -> {
+                try {
+                    Files.move(written, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                totalSize.addAndGet(previous == null ? size : size - previous.size);
+                return new Entry(size, System.nanoTime());
+            });
+        } catch (IOException | UncheckedIOException e) {
+            deleteQuietly(tmp);
+            throw new CustomAppException("Can't write cache entry: " + target, e);
+        }
+        evictIfNeeded();
+    }
+
+    public void put(UUID uid, byte[] data) {
+        put(uid, ByteBuffer.wrap(data));
+    }
+
+    public void remove(UUID uid) {
+        final Entry entry = index.get(uid);
+        if (entry != null)
+            remove(uid, entry);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    public long getTotalSize() {
+        return totalSize.get();
+    }
+
+    private void remove(UUID uid, Entry entry) {
+        index.computeIfPresent(uid, (key, current) -> {
+            if (current != entry)
+                return current;
+            totalSize.addAndGet(-entry.size);
+            deleteQuietly(resolve(uid.toString()));
+            return null;
+        });
+    }
+
+    private void evictIfNeeded() {
+        final long maxSize = properties.getMaxSize().toBytes();
+        if (totalSize.get() <= maxSize || !evicting.compareAndSet(false, true))
+            return;
+        try {
+            final long target = (long) (maxSize * properties.getLowWatermark());
+            final List<Map.Entry<UUID, Entry>> candidates = new ArrayList<>(index.entrySet());
+            candidates.sort(Comparator.comparingLong(candidate -> candidate.getValue().lastAccess));
+            int evicted = 0;
+            for (Map.Entry<UUID, Entry> candidate : candidates) {
+                if (totalSize.get() <= target)
+                    break;
+                remove(candidate.getKey(), candidate.getValue());
+                evicted++;
+            }
+            log.debug("Disk cache evicted {} entries, size now {} bytes", evicted, totalSize.get());
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private Path getShardDir(String uidStr) {
+        final String shard = Utils.getCacheShard(uidStr);
+        final Path shardDir = root.resolve(shard);
+        if (!shards.contains(shard)) {
+            try {
+                Files.createDirectories(shardDir);
+            } catch (IOException e) {
+                throw new CustomAppException("Can't create dir: " + shardDir + " for file: " + uidStr, e);
+            }
+            shards.add(shard);
+        }
+        return shardDir;
+    }
+
+    private Path resolve(String uidStr) {
+        return root.resolve(Utils.getCacheShard(uidStr)).resolve(uidStr);
+    }
+
+    private void indexShard(Path shardDir) {
+        shards.add(shardDir.getFileName().toString());
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(shardDir)) {
+            for (Path file : stream) {
+                final String name = file.getFileName().toString();
+                if (name.endsWith(TMP_SUFFIX)) {
+                    deleteQuietly(file);
+                    continue;
+                }
+                final UUID uid;
+                try {
+                    uid = UUID.fromString(name);
+                } catch (IllegalArgumentException e) {
+                    continue;
+                }
+                final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                // access order unknown after restart, modification time used instead
+                final long age = System.currentTimeMillis() - attributes.lastModifiedTime().toMillis();
+                index.put(uid, new Entry(attributes.size(), System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(age)));
+                totalSize.addAndGet(attributes.size());
+            }
+        } catch (IOException e) {
+            log.warn("Can't index cache shard {}: {}", shardDir, e.toString());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null)
+            return;
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Can't delete cache file {}: {}", path, e.toString());
+        }
+    }
+
+    private static final class Entry {
+        private final long size;
+        private volatile long lastAccess;
+
+        private Entry(long size, long lastAccess) {
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package org.example.service;
+
+import org.example.authorization.RoleRegistry;
+import org.example.config.KeycloakAuthenticationToken;
+import org.example.config.KeycloakPrincipal;
+import org.example.config.RevocationCheckingJwtDecoder;
+import org.example.config.properties.InternalTokenProperties;
+import org.example.dto.InternalToken;
+import org.example.exception.ClientErrorException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact internal tokens for service-to-service hops: Keycloak token verified once at exchange, then hops verify
+ * HMAC-SHA256 over few dozen bytes instead of RSA over kilobytes of JWT. Token is
+ * {@code i1~<base64url payload>~<base64url mac>} with binary payload of key epoch, issued at, expiration, subject,
+ * {@code jti} and authority names; {@code ~} keeps it apart from JWT and opaque token routing.
+ * <p>
+ * Signing key of epoch ({@code now / key-rotation}) derived from shared master secret, so replicas rotate keys
+ * locally and verify tokens of each other without coordination. Verified token becomes
+ * {@link KeycloakAuthenticationToken} over synthetic {@link Jwt} with {@code sub}, {@code iat}, {@code exp} and
+ * {@code jti} claims only, principal name is subject. {@code iat} and {@code jti} of exchanged token carried over,
+ * so subject and token revocation apply to internal tokens too.
+ */
+@Service
+@ConditionalOnProperty(prefix = "keycloak.internal-token", name = "enabled", havingValue = "true")
+public class InternalTokenService {
+    public static final String PREFIX = "i1~";
+    public static final String TOKEN_TYPE = "internal";
+    public static final String EXPIRED_MESSAGE = "Internal token expired";
+    private static final String INVALID_MESSAGE = "Invalid internal token";
+    private static final char SEPARATOR = '~';
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String KEY_LABEL = "internal-token:";
+    private static final int MIN_SECRET_LENGTH = 32;
+    private static final int MAX_INTERNED_AUTHORITIES = 10_000;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final ThreadLocal<Mac> MACS = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not supported", e);
+        }
+    });
+
+    private final SecretKeySpec masterKey;
+    private final long ttlSeconds;
+    private final long rotationSeconds;
+    private final RoleRegistry roleRegistry;
+    private final RevocationRegistry revocationRegistry;
+    private final Map<Long, SecretKeySpec> epochKeys = new ConcurrentHashMap<>();
+    private final Map<String, GrantedAuthority> authorities = new ConcurrentHashMap<>();
+    private final Clock clock = Clock.systemUTC();
+
+    public InternalTokenService(InternalTokenProperties properties, RoleRegistry roleRegistry,
+                                ObjectProvider<RevocationRegistry> revocationRegistry) {
+        final byte[] secret = properties.getSecret() == null ? new byte[0] : properties.getSecret().getBytes(StandardCharsets.UTF_8);
+        if (secret.length < MIN_SECRET_LENGTH)
+            throw new IllegalStateException("keycloak.internal-token.secret must have at least " + MIN_SECRET_LENGTH + " bytes");
+        if (properties.getTtl().compareTo(properties.getKeyRotation()) > 0)
+            throw new IllegalStateException("keycloak.internal-token.ttl must not exceed key-rotation");
+        this.masterKey = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlSeconds = properties.getTtl().toSeconds();
+        this.rotationSeconds = properties.getKeyRotation().toSeconds();
+        this.roleRegistry = roleRegistry;
+        this.revocationRegistry = revocationRegistry.getIfAvailable();
+    }
+
+    public static boolean isInternalToken(String token) {
+        return token.startsWith(PREFIX);
+    }
+
+    public static boolean isInternal(Authentication authentication) {
+        return authentication instanceof KeycloakAuthenticationToken token && TOKEN_TYPE.equals(token.getToken().getHeaders().get("typ"));
+    }
+
+    /**
+     * @param authentication verified Keycloak token, JWT or introspected
+     *
+     * @return               internal token with same subject and authorities
+     */
+    public InternalToken issue(Authentication authentication) {
+        if (isInternal(authentication))
+            throw new ClientErrorException(HttpStatus.BAD_REQUEST, "Internal token can't be exchanged");
+        if (!(authentication.getPrincipal() instanceof KeycloakPrincipal principal) || principal.getSubject() == null)
+            throw new ClientErrorException(HttpStatus.BAD_REQUEST, "Only Keycloak token with subject can be exchanged");
+        final long now = clock.instant().getEpochSecond();
+        long expiresAt = now + ttlSeconds;
+        if (principal.getAttributes().get(JwtClaimNames.EXP) instanceof Instant exp)
+            expiresAt = Math.min(expiresAt, exp.getEpochSecond());
+        if (expiresAt <= now)
+            throw new ClientErrorException(HttpStatus.BAD_REQUEST, "Token expired");
+        final long issuedAt = principal.getAttributes().get(JwtClaimNames.IAT) instanceof Instant iat ? iat.getEpochSecond() : now;
+        final String jti = principal.getAttributes().get(JwtClaimNames.JTI) instanceof String id ? id : "";
+        final long epoch = now / rotationSeconds;
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(epoch);
+            out.writeLong(issuedAt);
+            out.writeLong(expiresAt);
+            out.writeUTF(principal.getSubject());
+            out.writeUTF(jti);
+            final Collection<? extends GrantedAuthority> granted = authentication.getAuthorities();
+            out.writeShort(granted.size());
+            for (GrantedAuthority authority : granted)
+                out.writeUTF(authority.getAuthority());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final String signed = PREFIX + ENCODER.encodeToString(bytes.toByteArray());
+        final byte[] signedBytes = signed.getBytes(StandardCharsets.US_ASCII);
+        final String token = signed + SEPARATOR + ENCODER.encodeToString(sign(getKey(epoch, epoch), signedBytes, signedBytes.length));
+        return new InternalToken(token, Instant.ofEpochSecond(expiresAt));
+    }
+
+    /**
+     * @param token internal token, see {@link #isInternalToken}
+     *
+     * @return      authentication with subject, authorities and role mask of exchanged token
+     *
+     * @throws InvalidBearerTokenException when token malformed, not signed by key of current or adjacent epoch,
+     *                                     expired or revoked
+     */
+    public KeycloakAuthenticationToken authenticate(String token) {
+        final int separator = token.lastIndexOf(SEPARATOR);
+        if (!isInternalToken(token) || separator < PREFIX.length())
+            throw new InvalidBearerTokenException(INVALID_MESSAGE);
+        final byte[] signedBytes = token.getBytes(StandardCharsets.US_ASCII);
+        final byte[] payload;
+        final byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(PREFIX.length(), separator));
+            signature = DECODER.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidBearerTokenException(INVALID_MESSAGE);
+        }
+
+        final long now = clock.instant().getEpochSecond();
+        final long currentEpoch = now / rotationSeconds;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            // adjacent epochs: tokens of previous key still valid, next one tolerates clock skew between replicas
+            final long epoch = in.readLong();
+            if (epoch < currentEpoch - 1 || epoch > currentEpoch + 1
+                    || !MessageDigest.isEqual(sign(getKey(epoch, currentEpoch), signedBytes, separator), signature))
+                throw new InvalidBearerTokenException(INVALID_MESSAGE);
+            final long issuedAt = in.readLong();
+            final long expiresAt = in.readLong();
+            if (expiresAt <= now)
+                throw new InvalidBearerTokenException(EXPIRED_MESSAGE);
+            final String subject = in.readUTF();
+            final String jti = in.readUTF();
+            if (revocationRegistry != null
+                    && revocationRegistry.isRevoked(jti.isEmpty() ? null : jti, subject, Instant.ofEpochSecond(issuedAt)))
+                throw new InvalidBearerTokenException(RevocationCheckingJwtDecoder.REVOKED_MESSAGE);
+            final int count = in.readUnsignedShort();
+            final List<GrantedAuthority> granted = new ArrayList<>(count);
+            for (int i = 0; i < count; i++)
+                granted.add(getAuthority(in.readUTF()));
+
+            final Jwt.Builder builder = Jwt.withTokenValue(token)
+                    .header("alg", "HS256")
+                    .header("typ", TOKEN_TYPE)
+                    .subject(subject)
+                    .issuedAt(Instant.ofEpochSecond(issuedAt))
+                    .expiresAt(Instant.ofEpochSecond(expiresAt));
+            if (!jti.isEmpty())
+                builder.jti(jti);
+            final Jwt jwt = builder.build();
+            final Collection<GrantedAuthority> authorities = Collections.unmodifiableList(granted);
+            return new KeycloakAuthenticationToken(jwt, new KeycloakPrincipal(jwt.getClaims(), authorities, subject),
+                    authorities, roleRegistry.maskOf(authorities));
+        } catch (IOException e) {
+            throw new InvalidBearerTokenException(INVALID_MESSAGE);
+        }
+    }
+
+    private SecretKeySpec getKey(long epoch, long currentEpoch) {
+        SecretKeySpec key = epochKeys.get(epoch);
+        if (key == null) {
+            key = epochKeys.computeIfAbsent(epoch, this::deriveKey);
+            epochKeys.keySet().removeIf(cached -> cached < currentEpoch - 1);
+        }
+        return key;
+    }
+
+    private SecretKeySpec deriveKey(long epoch) {
+        final byte[] label = (KEY_LABEL + epoch).getBytes(StandardCharsets.US_ASCII);
+        return new SecretKeySpec(sign(masterKey, label, label.length), ALGORITHM);
+    }
+
+    private static byte[] sign(SecretKeySpec key, byte[] data, int length) {
+        final Mac mac = MACS.get();
+        try {
+            mac.init(key);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Can't init " + ALGORITHM, e);
+        }
+        mac.update(data, 0, length);
+        return mac.doFinal();
+    }
+
+    private GrantedAuthority getAuthority(String name) {
+        final GrantedAuthority authority = authorities.get(name);
+        if (authority != null)
+            return authority;
+        final GrantedAuthority created = new SimpleGrantedAuthority(name);
+        if (authorities.size() >= MAX_INTERNED_AUTHORITIES)
+            return created;
+        final GrantedAuthority existing = authorities.putIfAbsent(name, created);
+        return existing != null ? existing : created;
+    }
+}
@@ -0,0 +1,273 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.properties.RevocationProperties;
+import org.example.exception.ClientErrorException;
+import org.example.exception.CustomAppException;
+import org.example.util.BloomFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked tokens by {@code jti} and revoked subjects ("all tokens of subject issued before T").
+ * Check goes through Bloom filter first, so not revoked token costs few hash probes; only filter hits
+ * consult exact maps. Entries live until revoked tokens could still be valid and pruned in background,
+ * filter rebuilt on prune without dropped entries.
+ * <p>
+ * Revocations appended to journal, tab separated: {@code token <jti> <expires-at-millis>} or
+ * {@code subject <sub> <issued-before-seconds>}, replayed at startup and rewritten with live entries on prune.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "keycloak.revocation", name = "enabled", havingValue = "true")
+public class RevocationRegistry {
+    private static final long TOKEN_SEED = 0x6A7469L;
+    private static final long SUBJECT_SEED = 0x737562L;
+    private static final String TOKEN = "token";
+    private static final String SUBJECT = "subject";
+    private static final char SEPARATOR = '\t';
+
+    private final RevocationProperties properties;
+    private final Clock clock;
+    private final long maxTokenLifetimeMillis;
+    /**
+     * jti to expiration epoch millis
+     */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    /**
+     * subject to epoch second, tokens issued at or before it are revoked
+     */
+    private final Map<String, Long> revokedSubjects = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+    private int bloomCapacity;
+    private Writer journal;
+    private ScheduledExecutorService scheduler;
+
+    @Autowired
+    public RevocationRegistry(RevocationProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    public RevocationRegistry(RevocationProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.maxTokenLifetimeMillis = properties.getMaxTokenLifetime().toMillis();
+        this.bloomCapacity = properties.getExpectedRevocations();
+        this.bloomFilter = new BloomFilter(bloomCapacity, properties.getFalsePositiveRate());
+    }
+
+    @PostConstruct
+    public void init() {
+        if (StringUtils.hasText(properties.getJournalPath())) {
+            final Path journalPath = Path.of(properties.getJournalPath());
+            replay(journalPath);
+            // resize filter to replayed entries and drop superseded journal lines
+            prune();
+            synchronized (this) {
+                compact(journalPath);
+            }
+        }
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("revocation-prune-");
+        threadFactory.setDaemon(true);
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        final long interval = properties.getPruneInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::pruneQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (scheduler != null)
+            scheduler.shutdownNow();
+        if (journal != null)
+            journal.close();
+    }
+
+    /**
+     * @param jti      token id, may be {@code null}
+     * @param subject  token subject, may be {@code null}
+     * @param issuedAt token {@code iat}, token without it treated as issued before any subject rule
+     *
+     * @return         token revoked by id or by subject rule
+     */
+    public boolean isRevoked(String jti, String subject, Instant issuedAt) {
+        final BloomFilter filter = bloomFilter;
+        if (jti != null && filter.mightContain(jti, TOKEN_SEED) && revokedTokens.containsKey(jti))
+            return true;
+        if (subject == null || !filter.mightContain(subject, SUBJECT_SEED))
+            return false;
+        final Long issuedBefore = revokedSubjects.get(subject);
+        return issuedBefore != null && (issuedAt == null || issuedAt.getEpochSecond() <= issuedBefore);
+    }
+
+    /**
+     * @param jti       revoked token id
+     * @param expiresAt token expiration, {@code null} means max token lifetime from now
+     */
+    public synchronized void revokeToken(String jti, Instant expiresAt) {
+        checkValue(jti);
+        final long expires = expiresAt != null ? expiresAt.toEpochMilli() : clock.millis() + maxTokenLifetimeMillis;
+        if (!addToken(jti, expires))
+            return;
+        append(TOKEN, jti, expires);
+    }
+
+    /**
+     * @param subject      revoked subject
+     * @param issuedBefore tokens issued at or before it revoked, {@code null} means now
+     */
+    public synchronized void revokeSubject(String subject, Instant issuedBefore) {
+        checkValue(subject);
+        final long before = (issuedBefore != null ? issuedBefore : clock.instant()).getEpochSecond();
+        if (!addSubject(subject, before))
+            return;
+        append(SUBJECT, subject, before);
+    }
+
+    /**
+     * Drop entries which can't match valid token anymore, rebuild Bloom filter and compact journal if anything dropped.
+     *
+     * @return removed entries count
+     */
+    public synchronized int prune() {
+        final long now = clock.millis();
+        final int before = revokedTokens.size() + revokedSubjects.size();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedSubjects.values().removeIf(issuedBefore -> issuedBefore * 1000 + maxTokenLifetimeMillis <= now);
+        final int live = revokedTokens.size() + revokedSubjects.size();
+        while (live > bloomCapacity)
+            bloomCapacity *= 2;
+        final BloomFilter rebuilt = new BloomFilter(bloomCapacity, properties.getFalsePositiveRate());
+        revokedTokens.keySet().forEach(jti -> rebuilt.put(jti, TOKEN_SEED));
+        revokedSubjects.keySet().forEach(subject -> rebuilt.put(subject, SUBJECT_SEED));
+        bloomFilter = rebuilt;
+        if (before != live && StringUtils.hasText(properties.getJournalPath()))
+            compact(Path.of(properties.getJournalPath()));
+        return before - live;
+    }
+
+    public int getRevokedTokenCount() {
+        return revokedTokens.size();
+    }
+
+    public int getRevokedSubjectCount() {
+        return revokedSubjects.size();
+    }
+
+    private boolean addToken(String jti, long expiresAt) {
+        if (expiresAt <= clock.millis())
+            return false;
+        // filter first: entry visible in map is always visible in filter
+        bloomFilter.put(jti, TOKEN_SEED);
+        revokedTokens.merge(jti, expiresAt, Math::max);
+        return true;
+    }
+
+    private boolean addSubject(String subject, long issuedBefore) {
+        if (issuedBefore * 1000 + maxTokenLifetimeMillis <= clock.millis())
+            return false;
+        bloomFilter.put(subject, SUBJECT_SEED);
+        revokedSubjects.merge(subject, issuedBefore, Math::max);
+        return true;
+    }
+
+    private void pruneQuietly() {
+        try {
+            final int removed = prune();
+            if (removed > 0)
+                log.debug("Pruned {} expired revocations", removed);
+        } catch (RuntimeException e) {
+            log.warn("Revocations prune failed", e);
+        }
+    }
+
+    private void replay(Path path) {
+        if (!Files.exists(path))
+            return;
+        try {
+            final List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                final String[] parts = line.split(String.valueOf(SEPARATOR));
+                if (parts.length != 3) {
+                    log.warn("Skipped broken revocation journal line: {}", line);
+                    continue;
+                }
+                if (TOKEN.equals(parts[0]))
+                    addToken(parts[1], Long.parseLong(parts[2]));
+                else if (SUBJECT.equals(parts[0]))
+                    addSubject(parts[1], Long.parseLong(parts[2]));
+            }
+            log.info("Replayed {} revocations from {}", lines.size(), path);
+        } catch (IOException | NumberFormatException e) {
+            throw new CustomAppException("Can't replay revocation journal: " + path, e);
+        }
+    }
+
+    private void append(String type, String value, long time) {
+        if (!StringUtils.hasText(properties.getJournalPath()))
+            return;
+        try {
+            if (journal == null)
+                journal = openJournal(Path.of(properties.getJournalPath()));
+            journal.write(type + SEPARATOR + value + SEPARATOR + time + '\n');
+            journal.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't write revocation journal", e);
+        }
+    }
+
+    private void compact(Path path) {
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+            if (path.toAbsolutePath().getParent() != null)
+                Files.createDirectories(path.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> entry : revokedTokens.entrySet())
+                    writer.write(TOKEN + SEPARATOR + entry.getKey() + SEPARATOR + entry.getValue() + '\n');
+                for (Map.Entry<String, Long> entry : revokedSubjects.entrySet())
+                    writer.write(SUBJECT + SEPARATOR + entry.getKey() + SEPARATOR + entry.getValue() + '\n');
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Can't compact revocation journal " + path, e);
+        }
+    }
+
+    private static BufferedWriter openJournal(Path path) throws IOException {
+        if (path.toAbsolutePath().getParent() != null)
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        return Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static void checkValue(String value) {
+        if (!StringUtils.hasText(value) || value.indexOf(SEPARATOR) >= 0 || value.indexOf('\n') >= 0)
+            throw new ClientErrorException(HttpStatus.BAD_REQUEST, "Invalid revocation value: " + value);
+    }
+}
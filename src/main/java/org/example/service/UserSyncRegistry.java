@@ -0,0 +1,128 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.KeycloakPrincipal;
+import org.example.config.properties.UserSyncProperties;
+import org.example.exception.CustomAppException;
+import org.example.util.UuidHashSet;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Ids of users already synchronized with application. Bulk loaded from snapshot file,
+ * then updated incrementally through admin endpoint.
+ */
+@Slf4j
+@Service
+public class UserSyncRegistry {
+    private static final int RECORD_SIZE = 16;
+    private static final int READ_BUFFER_SIZE = RECORD_SIZE * 64 * 1024;
+
+    private final UserSyncProperties properties;
+    private volatile UuidHashSet users;
+
+    public UserSyncRegistry(UserSyncProperties properties) {
+        this.properties = properties;
+        this.users = new UuidHashSet(properties.getExpectedUsers());
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!properties.isEnabled())
+            return;
+        if (StringUtils.hasText(properties.getSnapshotPath()))
+            loadSnapshot(Path.of(properties.getSnapshotPath()));
+        else
+            log.warn("User sync enabled without snapshot, authenticated requests rejected until users added through /api/admin/user-sync");
+    }
+
+    public boolean isSynchronized(UUID userId) {
+        return users.contains(userId);
+    }
+
+    public boolean isSynchronized(long hi, long lo) {
+        return users.contains(hi, lo);
+    }
+
+    /**
+     * @param authentication authenticated request
+     *
+     * @return               subject of authentication (UUID) synchronized
+     */
+    public boolean isSynchronized(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof KeycloakPrincipal principal) {
+            final UUID subjectId = principal.getSubjectId();
+            return subjectId != null && isSynchronized(subjectId);
+        }
+        final String subject = authentication.getPrincipal() instanceof Jwt jwt ? jwt.getSubject() : authentication.getName();
+        if (subject == null)
+            return false;
+        try {
+            return isSynchronized(UUID.fromString(subject));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public int add(Collection<UUID> userIds) {
+        final UuidHashSet current = users;
+        int added = 0;
+        for (UUID userId : userIds) {
+            if (current.add(userId))
+                added++;
+        }
+        return added;
+    }
+
+    public int remove(Collection<UUID> userIds) {
+        final UuidHashSet current = users;
+        int removed = 0;
+        for (UUID userId : userIds) {
+            if (current.remove(userId))
+                removed++;
+        }
+        return removed;
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    /**
+     * Replace all users with snapshot content. Records use layout of {@link org.example.util.Utils#bytesToUuid}:
+     * big-endian most significant then least significant bits.
+     *
+     * @param snapshot snapshot file path
+     */
+    public void loadSnapshot(Path snapshot) {
+        final long started = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            final long fileSize = channel.size();
+            if (fileSize % RECORD_SIZE != 0)
+                throw new CustomAppException("Broken user snapshot " + snapshot + ", size " + fileSize + " not multiple of " + RECORD_SIZE);
+            final UuidHashSet loaded = new UuidHashSet((int) Math.min(Integer.MAX_VALUE, fileSize / RECORD_SIZE));
+            final ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE)
+                    loaded.add(buffer.getLong(), buffer.getLong());
+                buffer.compact();
+            }
+            users = loaded;
+            log.info("Loaded {} synchronized users from {} in {} ms", loaded.size(), snapshot, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            throw new CustomAppException("Can't load user snapshot: " + snapshot, e);
+        }
+    }
+}
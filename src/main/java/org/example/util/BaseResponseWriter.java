@@ -0,0 +1,301 @@
+package org.example.util;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.BaseResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Reflection-free {@link BaseResponse} JSON writer with same output as Spring's {@link ObjectMapper}:
+ * fields in declaration order, {@link Instant} as ISO-8601 and {@code spring.jackson.default-property-inclusion} honored.
+ * Constant parts (field names, status messages) pre-encoded to UTF-8, body assembled in thread-local buffer.
+ * Only non-scalar {@code data} values delegated to {@link ObjectMapper}.
+ */
+@Component
+public class BaseResponseWriter {
+    private static final byte[] DATA = ascii("\"data\":");
+    private static final byte[] TIMESTAMP = ascii("\"timestamp\":");
+    private static final byte[] MESSAGE = ascii("\"message\":");
+    private static final byte[] ERRORS = ascii("\"errors\":");
+    private static final byte[] ERROR_TYPE = ascii("\"errorType\":");
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final JsonInclude.Include inclusion;
+    private final byte[][] statusMessages;
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+    @Autowired
+    public BaseResponseWriter(ObjectMapper objectMapper, JacksonProperties jacksonProperties) {
+        this(objectMapper, jacksonProperties.getDefaultPropertyInclusion());
+    }
+
+    public BaseResponseWriter(ObjectMapper objectMapper, JsonInclude.Include inclusion) {
+        this.objectMapper = objectMapper;
+        this.inclusion = inclusion == null ? JsonInclude.Include.ALWAYS : inclusion;
+        final HttpStatus[] statuses = HttpStatus.values();
+        this.statusMessages = new byte[statuses.length][];
+        final Buffer buffer = new Buffer();
+        for (HttpStatus status : statuses) {
+            buffer.reset();
+            buffer.writeString(Utils.getMessageForStatus(status));
+            statusMessages[status.ordinal()] = buffer.toByteArray();
+        }
+    }
+
+    /**
+     * Write error response with message from {@link Utils#getMessageForStatus} and single error.
+     *
+     * @param response  servlet response
+     * @param status    response status
+     * @param timestamp response timestamp
+     * @param error     error text
+     */
+    public void writeError(HttpServletResponse response, HttpStatus status, Instant timestamp, String error) throws IOException {
+        final Buffer buffer = buffers.get();
+        buffer.reset();
+        buffer.write((byte) '{');
+        final boolean writeNulls = include(null);
+        if (writeNulls) {
+            buffer.write(DATA);
+            buffer.write(NULL);
+        }
+        writeField(buffer, MESSAGE, writeTimestamp(buffer, timestamp, !writeNulls));
+        buffer.write(statusMessages[status.ordinal()]);
+        writeField(buffer, ERRORS, false);
+        buffer.write((byte) '[');
+        buffer.writeString(error);
+        buffer.write((byte) ']');
+        if (writeNulls) {
+            writeField(buffer, ERROR_TYPE, false);
+            buffer.write(NULL);
+        }
+        buffer.write((byte) '}');
+        send(response, status, buffer);
+    }
+
+    public void write(HttpServletResponse response, HttpStatus status, BaseResponse<?> body) throws IOException {
+        final Buffer buffer = buffers.get();
+        buffer.reset();
+        write(buffer, body);
+        send(response, status, buffer);
+    }
+
+    /**
+     * @param out  target stream, not closed
+     * @param body response to write
+     */
+    public void write(OutputStream out, BaseResponse<?> body) throws IOException {
+        final Buffer buffer = buffers.get();
+        buffer.reset();
+        write(buffer, body);
+        out.write(buffer.bytes, 0, buffer.length);
+        buffer.trim();
+    }
+
+    private void write(Buffer buffer, BaseResponse<?> body) throws JsonProcessingException {
+        buffer.write((byte) '{');
+        boolean first = true;
+        if (include(body.getData())) {
+            first = writeField(buffer, DATA, first);
+            writeData(buffer, body.getData());
+        }
+        first = writeTimestamp(buffer, body.getTimestamp(), first);
+        if (include(body.getMessage())) {
+            first = writeField(buffer, MESSAGE, first);
+            buffer.writeString(body.getMessage());
+        }
+        if (include(body.getErrors())) {
+            first = writeField(buffer, ERRORS, first);
+            writeStrings(buffer, body.getErrors());
+        }
+        if (include(body.getErrorType())) {
+            writeField(buffer, ERROR_TYPE, first);
+            buffer.writeString(body.getErrorType());
+        }
+        buffer.write((byte) '}');
+    }
+
+    private boolean writeTimestamp(Buffer buffer, Instant timestamp, boolean first) {
+        if (!include(timestamp))
+            return first;
+        first = writeField(buffer, TIMESTAMP, first);
+        if (timestamp == null) {
+            buffer.write(NULL);
+        } else {
+            buffer.chars.setLength(0);
+            DateTimeFormatter.ISO_INSTANT.formatTo(timestamp, buffer.chars);
+            buffer.writeString(buffer.chars);
+        }
+        return first;
+    }
+
+    private void writeData(Buffer buffer, Object data) throws JsonProcessingException {
+        if (data == null)
+            buffer.write(NULL);
+        else if (data instanceof CharSequence chars)
+            buffer.writeString(chars);
+        else if (data instanceof Number || data instanceof Boolean)
+            buffer.writeAscii(data.toString());
+        else
+            buffer.write(objectMapper.writeValueAsBytes(data));
+    }
+
+    private static void writeStrings(Buffer buffer, Collection<String> values) {
+        if (values == null) {
+            buffer.write(NULL);
+            return;
+        }
+        buffer.write((byte) '[');
+        boolean first = true;
+        for (String value : values) {
+            if (!first)
+                buffer.write((byte) ',');
+            first = false;
+            if (value == null)
+                buffer.write(NULL);
+            else
+                buffer.writeString(value);
+        }
+        buffer.write((byte) ']');
+    }
+
+    private static boolean writeField(Buffer buffer, byte[] name, boolean first) {
+        if (!first)
+            buffer.write((byte) ',');
+        buffer.write(name);
+        return false;
+    }
+
+    private boolean include(Object value) {
+        return switch (inclusion) {
+            case NON_NULL, NON_ABSENT -> value != null;
+            case NON_EMPTY -> value != null
+                    && !(value instanceof CharSequence chars && chars.length() == 0)
+                    && !(value instanceof Collection<?> collection && collection.isEmpty());
+            default -> true;
+        };
+    }
+
+    private static void send(HttpServletResponse response, HttpStatus status, Buffer buffer) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentLength(buffer.length);
+        response.getOutputStream().write(buffer.bytes, 0, buffer.length);
+        buffer.trim();
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Growable UTF-8 byte buffer with JSON string escaping.
+     */
+    private static class Buffer {
+        private final StringBuilder chars = new StringBuilder(32);
+        private byte[] bytes = new byte[512];
+        private int length;
+
+        void reset() {
+            length = 0;
+        }
+
+        void trim() {
+            if (bytes.length > MAX_RETAINED_BUFFER)
+                bytes = new byte[512];
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        void write(byte b) {
+            ensure(1);
+            bytes[length++] = b;
+        }
+
+        void write(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, bytes, length, b.length);
+            length += b.length;
+        }
+
+        void writeAscii(String value) {
+            ensure(value.length());
+            for (int i = 0; i < value.length(); i++)
+                bytes[length++] = (byte) value.charAt(i);
+        }
+
+        void writeString(CharSequence value) {
+            // worst case: every char as \\uXXXX escape
+            ensure(value.length() * 6 + 2);
+            bytes[length++] = '"';
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    bytes[length++] = '\\';
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x20) {
+                    writeControl(c);
+                } else if (c < 0x80) {
+                    bytes[length++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[length++] = (byte) (0xC0 | c >> 6);
+                    bytes[length++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    bytes[length++] = (byte) (0xF0 | codePoint >> 18);
+                    bytes[length++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    bytes[length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    bytes[length++] = (byte) (0x80 | codePoint & 0x3F);
+                } else {
+                    bytes[length++] = (byte) (0xE0 | c >> 12);
+                    bytes[length++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    bytes[length++] = (byte) (0x80 | c & 0x3F);
+                }
+            }
+            bytes[length++] = '"';
+        }
+
+        private void writeControl(char c) {
+            bytes[length++] = '\\';
+            switch (c) {
+                case '\n' -> bytes[length++] = 'n';
+                case '\r' -> bytes[length++] = 'r';
+                case '\t' -> bytes[length++] = 't';
+                case '\b' -> bytes[length++] = 'b';
+                case '\f' -> bytes[length++] = 'f';
+                default -> {
+                    bytes[length++] = 'u';
+                    bytes[length++] = '0';
+                    bytes[length++] = '0';
+                    bytes[length++] = HEX[c >> 4];
+                    bytes[length++] = HEX[c & 0xF];
+                }
+            }
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length)
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+        }
+    }
+}
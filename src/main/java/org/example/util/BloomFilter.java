@@ -0,0 +1,75 @@
+package org.example.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Fixed-size Bloom filter over strings, sized from expected insertions and false positive rate.
+ * Probes use double hashing of one 64-bit string hash, so negative lookup is one pass over chars
+ * plus {@code k} word reads. Lookups are lock-free, insertions set bits atomically.
+ */
+public class BloomFilter {
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final double LN2 = Math.log(2);
+
+    private final long[] words;
+    private final long bitMask;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions expected count of elements
+     * @param falsePositiveRate  false positive probability at expected count, e.g. {@code 0.01}
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        final long optimalBits = (long) Math.ceil(-Math.max(1, expectedInsertions) * Math.log(falsePositiveRate) / (LN2 * LN2));
+        final long bits = Math.max(Long.SIZE, Long.highestOneBit(Math.max(1, optimalBits - 1)) << 1);
+        this.words = new long[(int) Math.min(Integer.MAX_VALUE - 8, bits / Long.SIZE)];
+        this.bitMask = (long) words.length * Long.SIZE - 1;
+        this.hashCount = Math.max(1, (int) Math.round((double) bits / Math.max(1, expectedInsertions) * LN2));
+    }
+
+    public boolean mightContain(CharSequence value, long seed) {
+        final long hash = hash(value, seed);
+        final long step = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+        long probe = hash;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = probe & bitMask;
+            if (((long) WORDS.getAcquire(words, (int) (bit >>> 6)) & (1L << bit)) == 0)
+                return false;
+            probe += step;
+        }
+        return true;
+    }
+
+    public void put(CharSequence value, long seed) {
+        final long hash = hash(value, seed);
+        final long step = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+        long probe = hash;
+        for (int i = 0; i < hashCount; i++) {
+            final long bit = probe & bitMask;
+            WORDS.getAndBitwiseOrRelease(words, (int) (bit >>> 6), 1L << bit);
+            probe += step;
+        }
+    }
+
+    public long getBitCount() {
+        return bitMask + 1;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    private static long hash(CharSequence value, long seed) {
+        long hash = seed ^ 0xCBF29CE484222325L;
+        for (int i = 0, length = value.length(); i < length; i++)
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,161 @@
+package org.example.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON object read one level deep: scalar members parsed right away, object and array members kept as raw JSON
+ * and parsed on first access through {@link Map}/{@link List} views. Members of JWT payload nobody reads (large
+ * {@code resource_access}, group trees) then cost one byte copy instead of a map tree. Views are read-only;
+ * memoization is racy-single-check, concurrent first calls may parse twice but publish same value.
+ * Integers read as {@link Long}, like Nimbus JSON parser.
+ */
+public final class LazyJson {
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(DeserializationFeature.USE_LONG_FOR_INTS);
+    private static final ObjectReader VALUE_READER = MAPPER.readerFor(Object.class);
+    private static final ObjectReader MAP_READER = MAPPER.readerFor(new TypeReference<Map<String, Object>>() { });
+    private static final ObjectReader LIST_READER = MAPPER.readerFor(new TypeReference<List<Object>>() { });
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    private LazyJson() {
+    }
+
+    /**
+     * @param json   UTF-8 JSON starting at index 0
+     * @param length JSON length
+     * @param eager  names of object/array members parsed right away anyway
+     *
+     * @return       members in document order
+     *
+     * @throws IOException when JSON malformed or not an object
+     */
+    public static Map<String, Object> readObject(byte[] json, int length, Set<String> eager) throws IOException {
+        final Map<String, Object> members = new LinkedHashMap<>();
+        try (JsonParser parser = FACTORY.createParser(json, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT)
+                throw new JsonParseException(parser, "JSON object expected");
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String name = parser.getCurrentName();
+                final JsonToken token = parser.nextToken();
+                if ((token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) && !eager.contains(name))
+                    members.put(name, readRaw(parser, json, token == JsonToken.START_OBJECT));
+                else
+                    members.put(name, VALUE_READER.readValue(parser));
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT || parser.nextToken() != null)
+                throw new JsonParseException(parser, "Unexpected content after JSON object");
+        }
+        return members;
+    }
+
+    /**
+     * @return {@code true} if value is lazy view not parsed yet
+     */
+    public static boolean isPending(Object value) {
+        return (value instanceof ObjectView objectView && objectView.value == null) || (value instanceof ArrayView arrayView && arrayView.value == null);
+    }
+
+    private static Object readRaw(JsonParser parser, byte[] json, boolean object) throws IOException {
+        // parser stands right after opening bracket, only whitespace may precede it back to ':'
+        final byte open = object ? (byte) '{' : (byte) '[';
+        int start = (int) parser.getCurrentLocation().getByteOffset() - 1;
+        while (start > 0 && json[start] != open)
+            start--;
+        parser.skipChildren();
+        final int end = (int) parser.getCurrentLocation().getByteOffset();
+        final byte[] raw = Arrays.copyOfRange(json, start, end);
+        return object ? new ObjectView(raw) : new ArrayView(raw);
+    }
+
+    private static <T> T parse(ObjectReader reader, byte[] raw) {
+        try {
+            return reader.readValue(raw);
+        } catch (IOException e) {
+            // raw JSON already tokenized by readObject
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class ObjectView extends AbstractMap<String, Object> {
+        private final byte[] raw;
+        private Map<String, Object> value;
+
+        ObjectView(byte[] raw) {
+            this.raw = raw;
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return value().entrySet();
+        }
+
+        @Override
+        public Object get(Object key) {
+            return value().get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return value().containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return value().size();
+        }
+
+        private Map<String, Object> value() {
+            Map<String, Object> parsed = value;
+            if (parsed == null) {
+                parsed = Collections.unmodifiableMap(parse(MAP_READER, raw));
+                value = parsed;
+            }
+            return parsed;
+        }
+    }
+
+    private static final class ArrayView extends AbstractList<Object> {
+        private final byte[] raw;
+        private List<Object> value;
+
+        ArrayView(byte[] raw) {
+            this.raw = raw;
+        }
+
+        @Override
+        public Object get(int index) {
+            return value().get(index);
+        }
+
+        @Override
+        public int size() {
+            return value().size();
+        }
+
+        private List<Object> value() {
+            List<Object> parsed = value;
+            if (parsed == null) {
+                parsed = Collections.unmodifiableList(parse(LIST_READER, raw));
+                value = parsed;
+            }
+            return parsed;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded concurrent cache where each entry expires at its own absolute time (usually token {@code exp}).
+ * When size cap reached expired entries dropped first, then arbitrary ones down to 90% of the cap.
+ *
+ * @param <K> key type
+ * @param <V> cached value type
+ */
+public class TokenCache<K, V> {
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final int maxSize;
+
+    public TokenCache(int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param key       cache key
+     * @param nowMillis current time in epoch millis
+     *
+     * @return          cached value or {@code null} if absent or expired
+     */
+    public V get(K key, long nowMillis) {
+        final Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.expiresAt <= nowMillis) {
+            entries.remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * @param key       cache key
+     * @param value     value to cache
+     * @param expiresAt absolute expiration in epoch millis
+     * @param nowMillis current time in epoch millis
+     */
+    public void put(K key, V value, long expiresAt, long nowMillis) {
+        if (expiresAt <= nowMillis)
+            return;
+        entries.put(key, new Entry<>(value, expiresAt));
+        if (entries.size() > maxSize)
+            evict(nowMillis);
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private void evict(long nowMillis) {
+        if (!evicting.compareAndSet(false, true))
+            return;
+        try {
+            entries.values().removeIf(entry -> entry.expiresAt <= nowMillis);
+            final int target = maxSize - maxSize / 10;
+            final Iterator<Entry<V>> it = entries.values().iterator();
+            while (entries.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.increment();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.util;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Compact cache key for bearer tokens: first 128 bits of SHA-256 of the token value.
+ * Lets caches avoid keeping raw tokens as map keys. Token chars hashed through thread-local buffers,
+ * so key of cached token costs no allocation besides key itself.
+ */
+public record TokenKey(long hi, long lo) {
+    private static final int MAX_RETAINED_BUFFER = 16 * 1024;
+    private static final ThreadLocal<Buffers> BUFFERS = ThreadLocal.withInitial(Buffers::new);
+
+    public static TokenKey of(String token) {
+        final Buffers buffers = BUFFERS.get();
+        final int length = token.length();
+        byte[] bytes = buffers.bytes;
+        if (bytes.length < length) {
+            bytes = new byte[length];
+            if (length <= MAX_RETAINED_BUFFER)
+                buffers.bytes = bytes;
+        }
+        // same bytes as US-ASCII encoding, non-ASCII chars as '?'
+        for (int i = 0; i < length; i++) {
+            final char c = token.charAt(i);
+            bytes[i] = c < 0x80 ? (byte) c : (byte) '?';
+        }
+        final byte[] hash = buffers.hash;
+        try {
+            buffers.digest.update(bytes, 0, length);
+            buffers.digest.digest(hash, 0, hash.length);
+        } catch (DigestException e) {
+            throw new IllegalStateException("SHA-256 digest failed", e);
+        }
+        return new TokenKey(getLong(hash, 0), getLong(hash, 8));
+    }
+
+    private static long getLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = offset; i < offset + Long.BYTES; i++)
+            value = (value << 8) | (bytes[i] & 0xFF);
+        return value;
+    }
+
+    private static final class Buffers {
+        private final MessageDigest digest;
+        private final byte[] hash;
+        private byte[] bytes = new byte[2048];
+
+        Buffers() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not supported", e);
+            }
+            hash = new byte[digest.getDigestLength()];
+        }
+    }
+}
@@ -13,14 +13,27 @@ import java.util.Set;
 import java.util.UUID;
 
 public class Utils {
+    public static final int CACHE_SHARD_LENGTH = 3;
+
     public static UUID bytesToUuid(byte[] bytes) {
         var bufArr = ByteBuffer.wrap(bytes);
         return new UUID(bufArr.getLong(), bufArr.getLong());
     }
 
+    /**
+     * Compact JWS shape check for routing between JWT and opaque tokens: counts dots only, no parsing.
+     */
+    public static boolean isJwt(String token) {
+        final int first = token.indexOf('.');
+        if (first <= 0)
+            return false;
+        final int second = token.indexOf('.', first + 1);
+        return second > first && token.indexOf('.', second + 1) < 0;
+    }
+
     public static Path getCachePath(String storeRootPath, UUID uid) {
         var uidStr = uid.toString();
-        var dirPath = Path.of(storeRootPath, uidStr.substring(0, 3));
+        var dirPath = Path.of(storeRootPath, getCacheShard(uidStr));
         var dirStr = dirPath.toAbsolutePath().toString();
         var dir = new File(dirStr);
         if (!dir.exists() && !dir.mkdirs())
@@ -28,6 +41,10 @@ public class Utils {
         return Path.of(dirStr, uidStr);
     }
 
+    public static String getCacheShard(String uidStr) {
+        return uidStr.substring(0, CACHE_SHARD_LENGTH);
+    }
+
     public static String getMessageForStatus(HttpStatus status) {
         return switch (status) {
             case NOT_FOUND -> "The resource does not exist";
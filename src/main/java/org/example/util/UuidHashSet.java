@@ -0,0 +1,164 @@
+package org.example.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.UUID;
+
+/**
+ * Open-addressing set of UUIDs stored as raw long pairs, 16 bytes per slot without boxing.
+ * Lookups are lock-free, modifications serialized by monitor.
+ * <p>
+ * Slot {@code (0, 0)} is empty and {@code (0, 1)} is removed, such UUIDs tracked by separate flags.
+ * Removed slots reused only after rehash, so concurrent readers never see a probe chain cut short.
+ */
+public class UuidHashSet {
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final float MAX_LOAD = 0.7f;
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile long[] table;
+    private volatile boolean containsEmptyKey;
+    private volatile boolean containsRemovedKey;
+    private int size;
+    private int used;
+
+    public UuidHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize expected count of elements, to avoid rehash on bulk load
+     */
+    public UuidHashSet(int expectedSize) {
+        table = new long[capacityFor(expectedSize) * 2];
+    }
+
+    public boolean contains(UUID uuid) {
+        return contains(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public boolean contains(long hi, long lo) {
+        if (hi == 0 && (lo == 0 || lo == 1))
+            return lo == 0 ? containsEmptyKey : containsRemovedKey;
+        final long[] slots = table;
+        final int mask = (slots.length >> 1) - 1;
+        int i = hash(hi, lo) & mask;
+        while (true) {
+            final long slotHi = (long) SLOTS.getAcquire(slots, i << 1);
+            final long slotLo = (long) SLOTS.getAcquire(slots, (i << 1) + 1);
+            if (slotHi == hi && slotLo == lo)
+                return true;
+            if (slotHi == 0 && slotLo == 0)
+                return false;
+            i = (i + 1) & mask;
+        }
+    }
+
+    public boolean add(UUID uuid) {
+        return add(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public synchronized boolean add(long hi, long lo) {
+        if (hi == 0 && (lo == 0 || lo == 1)) {
+            final boolean existed = lo == 0 ? containsEmptyKey : containsRemovedKey;
+            if (lo == 0)
+                containsEmptyKey = true;
+            else
+                containsRemovedKey = true;
+            if (!existed)
+                size++;
+            return !existed;
+        }
+        if (contains(hi, lo))
+            return false;
+        if (used + 1 > (table.length >> 1) * MAX_LOAD)
+            rehash(capacityFor(size + 1));
+        insert(table, hi, lo);
+        size++;
+        used++;
+        return true;
+    }
+
+    public boolean remove(UUID uuid) {
+        return remove(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    public synchronized boolean remove(long hi, long lo) {
+        if (hi == 0 && (lo == 0 || lo == 1)) {
+            final boolean existed = lo == 0 ? containsEmptyKey : containsRemovedKey;
+            if (lo == 0)
+                containsEmptyKey = false;
+            else
+                containsRemovedKey = false;
+            if (existed)
+                size--;
+            return existed;
+        }
+        final long[] slots = table;
+        final int mask = (slots.length >> 1) - 1;
+        int i = hash(hi, lo) & mask;
+        while (true) {
+            final long slotHi = slots[i << 1];
+            final long slotLo = slots[(i << 1) + 1];
+            if (slotHi == hi && slotLo == lo) {
+                // keep slot non-empty at every step, see class doc
+                if (lo == 0) {
+                    SLOTS.setRelease(slots, (i << 1) + 1, 1L);
+                    SLOTS.setRelease(slots, i << 1, 0L);
+                } else {
+                    SLOTS.setRelease(slots, i << 1, 0L);
+                    SLOTS.setRelease(slots, (i << 1) + 1, 1L);
+                }
+                size--;
+                return true;
+            }
+            if (slotHi == 0 && slotLo == 0)
+                return false;
+            i = (i + 1) & mask;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        final long[] old = table;
+        final long[] slots = new long[capacity * 2];
+        int live = 0;
+        for (int i = 0; i < old.length; i += 2) {
+            final long hi = old[i];
+            final long lo = old[i + 1];
+            if (hi != 0 || lo > 1 || lo < 0) {
+                insert(slots, hi, lo);
+                live++;
+            }
+        }
+        used = live;
+        table = slots;
+    }
+
+    private static void insert(long[] slots, long hi, long lo) {
+        final int mask = (slots.length >> 1) - 1;
+        int i = hash(hi, lo) & mask;
+        while (slots[i << 1] != 0 || slots[(i << 1) + 1] != 0)
+            i = (i + 1) & mask;
+        SLOTS.setRelease(slots, (i << 1) + 1, lo);
+        SLOTS.setRelease(slots, i << 1, hi);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        final long needed = (long) Math.ceil(Math.max(expectedSize, 1) / (double) MAX_LOAD) + 1;
+        if (needed > (1 << 29))
+            throw new IllegalArgumentException("Too many elements: " + expectedSize);
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit((int) needed - 1) << 1);
+    }
+
+    private static int hash(long hi, long lo) {
+        long h = hi * 0x9E3779B97F4A7C15L ^ lo;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,22 @@
+package org.example;
+
+import org.example.util.BaseResponseWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Context smoke test with default settings. Issuer decoder resolved lazily, so no Keycloak needed.
+ */
+@SpringBootTest(properties = "KEYCLOAK_REALM_URL=http://localhost:8484/auth/realms/test")
+class KeycloakAuthApplicationTests {
+    @Autowired
+    private BaseResponseWriter baseResponseWriter;
+
+    @Test
+    void contextLoads() {
+        assertThat(baseResponseWriter).isNotNull();
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.authorization;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PathRuleTrieTest {
+    @Test
+    void literalBeatsWildcardBeatsTail() {
+        final PathRuleTrie<String> trie = new PathRuleTrie<>();
+        trie.add(null, "/api/**", "tail", "1");
+        trie.add(null, "/api/orders/{id}", "wildcard", "2");
+        trie.add(null, "/api/orders/recent", "literal", "3");
+
+        assertThat(trie.resolve("GET", "/api/orders/recent")).isEqualTo("literal");
+        assertThat(trie.resolve("GET", "/api/orders/42")).isEqualTo("wildcard");
+        assertThat(trie.resolve("GET", "/api/orders/42/items")).isEqualTo("tail");
+        assertThat(trie.resolve("GET", "/api")).isEqualTo("tail");
+        assertThat(trie.resolve("GET", "/other")).isNull();
+    }
+
+    @Test
+    void backtracksWhenLiteralBranchHasNoMatch() {
+        final PathRuleTrie<String> trie = new PathRuleTrie<>();
+        trie.add(null, "/api/orders/recent/summary", "literal", "1");
+        trie.add(null, "/api/*/recent/items", "wildcard", "2");
+
+        assertThat(trie.resolve("GET", "/api/orders/recent/items")).isEqualTo("wildcard");
+    }
+
+    @Test
+    void methodSpecificBeatsAnyMethod() {
+        final PathRuleTrie<String> trie = new PathRuleTrie<>();
+        trie.add(null, "/api/items", "any", "1");
+        trie.add(HttpMethod.POST, "/api/items", "post", "2");
+
+        assertThat(trie.resolve("POST", "/api/items")).isEqualTo("post");
+        assertThat(trie.resolve("GET", "/api/items")).isEqualTo("any");
+        assertThat(trie.resolve("UNKNOWN", "/api/items")).isEqualTo("any");
+    }
+
+    @Test
+    void methodSpecificBeatsDeeperAnyMethod() {
+        final PathRuleTrie<String> trie = new PathRuleTrie<>();
+        trie.add(HttpMethod.OPTIONS, "/**", "preflight", "1");
+        trie.add(null, "/api/admin/**", "admin", "2");
+        trie.add(HttpMethod.GET, "/api/admin/users", "users", "3");
+
+        assertThat(trie.resolve("OPTIONS", "/api/admin/users")).isEqualTo("preflight");
+        assertThat(trie.resolve("GET", "/api/admin/users")).isEqualTo("users");
+        assertThat(trie.resolve("POST", "/api/admin/users")).isEqualTo("admin");
+        assertThat(trie.resolve("OPTIONS", "/")).isEqualTo("preflight");
+    }
+
+    @Test
+    void emptySegmentsIgnored() {
+        final PathRuleTrie<String> trie = new PathRuleTrie<>();
+        trie.add(null, "/api/items", "items", "1");
+
+        assertThat(trie.resolve("GET", "/api//items/")).isEqualTo("items");
+    }
+
+    @Test
+    void rejectsOverlapsAndUnsupportedPatterns() {
+        final PathRuleTrie<String> trie = new PathRuleTrie<>();
+        trie.add(HttpMethod.GET, "/api/{id}", "a", "first");
+
+        assertThatThrownBy(() -> trie.add(HttpMethod.GET, "/api/*", "b", "second"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("first");
+        assertThatThrownBy(() -> trie.add(null, "/api/**/items", "c", "third"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> trie.add(null, "/api/item*", "d", "fourth"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.authorization;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoleRuleParserTest {
+    private RoleRegistry roleRegistry;
+    private RoleRuleParser parser;
+
+    @BeforeEach
+    void setUp() {
+        roleRegistry = new RoleRegistry();
+        parser = new RoleRuleParser(roleRegistry);
+    }
+
+    @Test
+    void permitAllAndAuthenticated() {
+        assertThat(parser.parse("permitAll")).isEqualTo(RoleRule.PERMIT_ALL);
+        assertThat(parser.parse(" isAuthenticated() ")).isEqualTo(RoleRule.AUTHENTICATED);
+    }
+
+    @Test
+    void anyRoleGrantsOr() {
+        final RoleRule rule = parser.parse("hasRole('A') or hasAnyRole('B', 'C')");
+
+        assertThat(rule.isGranted(true, mask("A"))).isTrue();
+        assertThat(rule.isGranted(true, mask("C"))).isTrue();
+        assertThat(rule.isGranted(true, mask("D"))).isFalse();
+        assertThat(rule.isGranted(false, mask("A"))).isFalse();
+    }
+
+    @Test
+    void andRequiresAllRoles() {
+        final RoleRule rule = parser.parse("hasRole('A') and hasAuthority('SCOPE_read')");
+
+        assertThat(rule.isGranted(true, mask("A") | roleRegistry.register("SCOPE_read"))).isTrue();
+        assertThat(rule.isGranted(true, mask("A"))).isFalse();
+    }
+
+    @Test
+    void multiRoleTermInAndIsAnyOfGroup() {
+        final RoleRule rule = parser.parse("hasAnyRole('A','B') and hasRole('C')");
+
+        assertThat(rule.isGranted(true, mask("A") | mask("C"))).isTrue();
+        assertThat(rule.isGranted(true, mask("B") | mask("C"))).isTrue();
+        assertThat(rule.isGranted(true, mask("A") | mask("B"))).isFalse();
+        assertThat(rule.isGranted(true, mask("C"))).isFalse();
+    }
+
+    @Test
+    void rejectsUnsupportedExpressions() {
+        assertThatThrownBy(() -> parser.parse("hasAnyRole('A','B') and hasAnyRole('C','D')"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parser.parse("hasRole('A') and hasRole('B') or hasRole('C')"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parser.parse("hasRole(role)"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parser.parse("hasPermission(#id, 'read')"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void compileRoles() {
+        assertThat(parser.compile(new String[] {"A", "ROLE_B"}, true).isGranted(true, mask("A") | mask("B"))).isTrue();
+        assertThat(parser.compile(new String[] {"A", "ROLE_B"}, true).isGranted(true, mask("A"))).isFalse();
+        assertThat(parser.compile(new String[] {"A", "B"}, false).isGranted(true, mask("B"))).isTrue();
+    }
+
+    private long mask(String role) {
+        return roleRegistry.register(RoleRuleParser.ROLE_PREFIX + role);
+    }
+}
@@ -0,0 +1,118 @@
+package org.example.config;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.example.config.properties.JwksProperties;
+import org.example.util.LazyJson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CompactJwtDecoderTest {
+    private static final String ISSUER = "http://localhost:8484/auth/realms/test";
+
+    private RSAKey rsaKey;
+    private CompactJwtDecoder decoder;
+    private NimbusJwtDecoder nimbusDecoder;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        rsaKey = new RSAKeyGenerator(2048).keyID("test-key").generate();
+        final JwksProperties properties = new JwksProperties();
+        final JwksKeyStore keyStore = new JwksKeyStore(null,
+                new ByteArrayResource(new JWKSet(rsaKey.toPublicJWK()).toString().getBytes(StandardCharsets.UTF_8)), properties, null);
+        keyStore.start();
+        decoder = new CompactJwtDecoder(keyStore, properties.getAlgorithms(), JwtValidators.createDefaultWithIssuer(ISSUER));
+        nimbusDecoder = NimbusJwtDecoder.withPublicKey(rsaKey.toRSAPublicKey()).build();
+        nimbusDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+    }
+
+    @Test
+    void decodesSameJwtAsNimbus() throws JOSEException {
+        final String token = sign(claims(Instant.now().plusSeconds(300)), rsaKey.getKeyID());
+        final Jwt expected = nimbusDecoder.decode(token);
+
+        for (int i = 0; i < 2; i++) {
+            final Jwt jwt = decoder.decode(token);
+            assertThat(jwt.getTokenValue()).isEqualTo(token);
+            assertThat(jwt.getHeaders()).isEqualTo(expected.getHeaders());
+            assertThat(jwt.getClaims()).isEqualTo(expected.getClaims());
+        }
+    }
+
+    @Test
+    void keepsNestedClaimsUnparsedUntilAccess() throws JOSEException {
+        final Jwt jwt = decoder.decode(sign(claims(Instant.now().plusSeconds(300)), rsaKey.getKeyID()));
+        final KeycloakPrincipal principal = new KeycloakPrincipal(jwt.getClaims(), List.of(), jwt.getSubject());
+
+        assertThat(principal.getUsername()).isEqualTo("user");
+        assertThat(LazyJson.isPending(jwt.getClaims().get("realm_access"))).isTrue();
+        assertThat(principal.getRealmRoles()).containsExactly("user", "offline_access");
+        assertThat(LazyJson.isPending(jwt.getClaims().get("realm_access"))).isFalse();
+    }
+
+    @Test
+    void rejectsTamperedSignature() throws JOSEException {
+        final String token = sign(claims(Instant.now().plusSeconds(300)), rsaKey.getKeyID());
+        final int signatureStart = token.lastIndexOf('.') + 1;
+        final char replaced = token.charAt(signatureStart) == 'A' ? 'B' : 'A';
+        final String tampered = token.substring(0, signatureStart) + replaced + token.substring(signatureStart + 1);
+
+        assertThatThrownBy(() -> decoder.decode(tampered)).isInstanceOf(BadJwtException.class).hasMessageContaining("Invalid signature");
+    }
+
+    @Test
+    void validatesClaims() throws JOSEException {
+        final String token = sign(claims(Instant.now().minusSeconds(300)), rsaKey.getKeyID());
+
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(JwtValidationException.class);
+    }
+
+    @Test
+    void rejectsUnknownKeyThroughFallback() throws JOSEException {
+        final String token = sign(claims(Instant.now().plusSeconds(300)), "other-key");
+
+        assertThatThrownBy(() -> decoder.decode(token)).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("not-a-jwt")).isInstanceOf(BadJwtException.class);
+    }
+
+    private JWTClaimsSet claims(Instant expiresAt) {
+        return new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject("4c9b8f5e-2f55-4b4e-9d0c-6f5e3f6c1a2b")
+                .audience("account")
+                .issueTime(Date.from(expiresAt.minusSeconds(600)))
+                .expirationTime(Date.from(expiresAt))
+                .claim("preferred_username", "user")
+                .claim("auth_time", 1_700_000_000L)
+                .claim("realm_access", Map.of("roles", List.of("user", "offline_access")))
+                .build();
+    }
+
+    private String sign(JWTClaimsSet claims, String keyId) throws JOSEException {
+        final SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(keyId).build(), claims);
+        jwt.sign(new RSASSASigner(rsaKey));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeycloakBearerTokenResolverTest {
+    private final KeycloakBearerTokenResolver resolver = new KeycloakBearerTokenResolver();
+
+    @Test
+    void resolvesBearerTokens() {
+        assertThat(resolve("Bearer eyJhbGciOi.eyJzdWIi.c2lnbmF0dXJl")).isEqualTo("eyJhbGciOi.eyJzdWIi.c2lnbmF0dXJl");
+        assertThat(resolve("bearer opaque+token/value==")).isEqualTo("opaque+token/value==");
+        assertThat(resolve("BEARER i1~payload~mac")).isEqualTo("i1~payload~mac");
+    }
+
+    @Test
+    void ignoresOtherSchemes() {
+        assertThat(resolve(null)).isNull();
+        assertThat(resolve("Basic dXNlcjpwYXNz")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedHeaders() {
+        for (String header : new String[] {"Bearer", "Bearer ", "Bearertoken", "Bearer a b", "Bearer ==", "Bearer a=b", "Bearer a\"b"})
+            assertThatThrownBy(() -> resolve(header)).isInstanceOf(InvalidBearerTokenException.class);
+    }
+
+    @Test
+    void rejectsMalformedJws() {
+        for (String header : new String[] {"Bearer a..c", "Bearer .b.c", "Bearer a.b.", "Bearer a+b.c.d", "Bearer a.b.c="})
+            assertThatThrownBy(() -> resolve(header)).isInstanceOf(InvalidBearerTokenException.class);
+        assertThat(resolve("Bearer a.b.c.d.e")).isEqualTo("a.b.c.d.e");
+    }
+
+    private String resolve(String authorization) {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        if (authorization != null)
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        return resolver.resolve(request);
+    }
+}
@@ -0,0 +1,81 @@
+package org.example.ratelimit;
+
+import org.example.authorization.RoleRegistry;
+import org.example.config.properties.RateLimitProperties;
+import org.example.config.properties.RoleProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+    @Test
+    void allowsBurstThenLimits() {
+        final RateLimiter limiter = limiter(rule(null, null, 2, Duration.ofHours(1)));
+        final Authentication alice = user("alice");
+
+        assertThat(limiter.tryAcquire(alice, "/api/user")).isZero();
+        assertThat(limiter.tryAcquire(alice, "/api/user")).isZero();
+        assertThat(limiter.tryAcquire(alice, "/api/user")).isPositive();
+    }
+
+    @Test
+    void bucketsPerSubject() {
+        final RateLimiter limiter = limiter(rule(null, null, 1, Duration.ofHours(1)));
+
+        assertThat(limiter.tryAcquire(user("alice"), "/api/user")).isZero();
+        assertThat(limiter.tryAcquire(user("bob"), "/api/user")).isZero();
+        assertThat(limiter.tryAcquire(user("alice"), "/api/user")).isPositive();
+        assertThat(limiter.getBucketCount()).isEqualTo(2);
+    }
+
+    @Test
+    void firstMatchingRuleApplies() {
+        final RateLimiter limiter = limiter(
+                rule("/api/admin/**", null, 1, Duration.ofHours(1)),
+                rule(null, "SERVICE", 1, Duration.ofHours(1)));
+        final Authentication service = user("svc", "ROLE_SERVICE");
+
+        assertThat(limiter.tryAcquire(user("alice"), "/api/user")).isZero();
+        assertThat(limiter.tryAcquire(user("alice"), "/api/user")).isZero();
+        assertThat(limiter.tryAcquire(service, "/api/service")).isZero();
+        assertThat(limiter.tryAcquire(service, "/api/service")).isPositive();
+        assertThat(limiter.tryAcquire(user("alice"), "/api/admin/users")).isZero();
+        assertThat(limiter.tryAcquire(user("alice"), "/api/admin/users")).isPositive();
+    }
+
+    @Test
+    void evictsRefilledBuckets() {
+        final RateLimiter limiter = limiter(rule(null, null, 10, Duration.ofHours(1)));
+        limiter.tryAcquire(user("alice"), "/api/user");
+
+        assertThat(limiter.evictIdle(System.nanoTime())).isZero();
+        assertThat(limiter.evictIdle(System.nanoTime() + Duration.ofHours(2).toNanos())).isEqualTo(1);
+        assertThat(limiter.getBucketCount()).isZero();
+    }
+
+    private static RateLimiter limiter(RateLimitProperties.Rule... rules) {
+        final RateLimitProperties properties = new RateLimitProperties();
+        properties.setRules(List.of(rules));
+        return new RateLimiter(properties, new RoleProperties(), new RoleRegistry());
+    }
+
+    private static RateLimitProperties.Rule rule(String path, String role, int requests, Duration period) {
+        final RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setPath(path);
+        rule.setRole(role);
+        rule.setRequests(requests);
+        rule.setPeriod(period);
+        return rule;
+    }
+
+    private static Authentication user(String name, String... authorities) {
+        return new UsernamePasswordAuthenticationToken(name, null,
+                List.of(authorities).stream().map(SimpleGrantedAuthority::new).toList());
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+    private static final long SEED = 17;
+
+    @Test
+    void noFalseNegatives() {
+        final BloomFilter filter = new BloomFilter(10_000, 0.01);
+        final String[] values = new String[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = UUID.randomUUID().toString();
+            filter.put(values[i], SEED);
+        }
+
+        for (String value : values)
+            assertThat(filter.mightContain(value, SEED)).isTrue();
+    }
+
+    @Test
+    void falsePositiveRateNearConfigured() {
+        final BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++)
+            filter.put(UUID.randomUUID().toString(), SEED);
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString(), SEED))
+                falsePositives++;
+        }
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void seedsAreIndependent() {
+        final BloomFilter filter = new BloomFilter(100, 0.001);
+        filter.put("subject", SEED);
+
+        assertThat(filter.mightContain("subject", SEED)).isTrue();
+        assertThat(filter.mightContain("subject", SEED + 1)).isFalse();
+        assertThat(Long.bitCount(filter.getBitCount())).isEqualTo(1);
+    }
+}
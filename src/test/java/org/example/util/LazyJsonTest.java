@@ -0,0 +1,55 @@
+package org.example.util;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LazyJsonTest {
+    private static final String PAYLOAD = "{ \"exp\":1700000000,\"sub\":\"u1\",\"aud\" : [\"a\",\"b\"],\"realm_access\" :\n"
+            + " {\"roles\":[\"user\",\"admin\"]},\"n\":null,\"f\":1.5,\"groups\":[ \"/g1\", {\"x\":\"]}\\\"\"} ],\"e\":{} }  ";
+
+    @Test
+    void readsSameValuesAsObjectMapper() throws IOException {
+        final Map<String, Object> members = read(PAYLOAD, Set.of("aud"));
+        final Object expected = new ObjectMapper().enable(DeserializationFeature.USE_LONG_FOR_INTS).readValue(PAYLOAD, Map.class);
+
+        assertThat(members).isEqualTo(expected);
+        assertThat(members.get("exp")).isEqualTo(1_700_000_000L);
+    }
+
+    @Test
+    void parsesNestedMembersOnFirstAccess() throws IOException {
+        final Map<String, Object> members = read(PAYLOAD, Set.of("aud"));
+
+        assertThat(LazyJson.isPending(members.get("aud"))).isFalse();
+        assertThat(LazyJson.isPending(members.get("realm_access"))).isTrue();
+        assertThat(LazyJson.isPending(members.get("groups"))).isTrue();
+
+        assertThat(((Map<?, ?>) members.get("realm_access")).get("roles")).isEqualTo(List.of("user", "admin"));
+        assertThat(LazyJson.isPending(members.get("realm_access"))).isFalse();
+        assertThat(LazyJson.isPending(members.get("groups"))).isTrue();
+        assertThat(((List<?>) members.get("groups")).get(0)).isEqualTo("/g1");
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        for (String json : new String[] {"[1]", "{\"a\":1} x", "{\"a\":{\"b\":}}", "{\"a\":1"})
+            assertThatThrownBy(() -> read(json, Set.of())).isInstanceOf(IOException.class);
+    }
+
+    private static Map<String, Object> read(String json, Set<String> eager) throws IOException {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        // buffer longer than content, as decoder's thread-local one
+        return LazyJson.readObject(Arrays.copyOf(bytes, bytes.length + 64), bytes.length, eager);
+    }
+}
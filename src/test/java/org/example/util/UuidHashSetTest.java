@@ -0,0 +1,63 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidHashSetTest {
+    @Test
+    void addContainsRemove() {
+        final UuidHashSet set = new UuidHashSet();
+        final UUID id = UUID.randomUUID();
+
+        assertThat(set.add(id)).isTrue();
+        assertThat(set.add(id)).isFalse();
+        assertThat(set.contains(id)).isTrue();
+        assertThat(set.remove(id)).isTrue();
+        assertThat(set.remove(id)).isFalse();
+        assertThat(set.contains(id)).isFalse();
+        assertThat(set.size()).isZero();
+    }
+
+    @Test
+    void sentinelValuesAreRegularElements() {
+        final UuidHashSet set = new UuidHashSet();
+        final UUID empty = new UUID(0, 0);
+        final UUID removed = new UUID(0, 1);
+
+        assertThat(set.contains(empty)).isFalse();
+        assertThat(set.add(empty)).isTrue();
+        assertThat(set.add(removed)).isTrue();
+        assertThat(set.contains(empty)).isTrue();
+        assertThat(set.contains(removed)).isTrue();
+        assertThat(set.size()).isEqualTo(2);
+        assertThat(set.remove(removed)).isTrue();
+        assertThat(set.contains(removed)).isFalse();
+        assertThat(set.contains(empty)).isTrue();
+    }
+
+    @Test
+    void matchesHashSetThroughGrowthAndRemovals() {
+        final UuidHashSet set = new UuidHashSet();
+        final Set<UUID> expected = new HashSet<>();
+        for (int i = 0; i < 10_000; i++) {
+            final UUID id = UUID.randomUUID();
+            set.add(id);
+            expected.add(id);
+        }
+        final List<UUID> ids = List.copyOf(expected);
+        for (int i = 0; i < ids.size(); i += 2) {
+            set.remove(ids.get(i));
+            expected.remove(ids.get(i));
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        for (UUID id : ids)
+            assertThat(set.contains(id)).isEqualTo(expected.contains(id));
+    }
+}